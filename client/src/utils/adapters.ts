@@ -6,7 +6,7 @@ export const adaptPost = (post: any): Post => {
     id: post.id,
     title: post.title,
     subtitle: post.subtitle || '',
-    content: post.content,
+    content: post.content || post.excerpt || '',
     author: post.author || { 
       id: 0, 
       firstName: 'Unknown',
@@ -1,35 +1,30 @@
 package com.alibou.book;
 
-import com.alibou.book.role.Role;
-import com.alibou.book.role.RoleRepository;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
+@EnableAsync
 public class BookNetworkApiApplication {
 
+	private static final int STARTUP_STEPS = 8192;
+
 	public static void main(String[] args) {
-		SpringApplication.run(BookNetworkApiApplication.class, args);
+		application().run(args);
 	}
 
-	@Bean
-	public CommandLineRunner runner (RoleRepository roleRepository) {
-		return args -> {
-			if (roleRepository.findByName("USER").isEmpty()) {
-				roleRepository.save(
-						Role.builder().name("USER").build()
-				);
-			}
-
-			if (roleRepository.findByName("PRO").isEmpty()) {
-				roleRepository.save(
-						Role.builder().name("PRO").build()
-				);
-			}
-		};
+	/**
+	 * Records the startup steps for {@link com.alibou.book.config.StartupReport}.
+	 */
+	public static SpringApplication application() {
+		SpringApplication application = new SpringApplication(BookNetworkApiApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		return application;
 	}
 }
@@ -1,5 +1,7 @@
 package com.alibou.book.auth;
 
+import com.alibou.book.user.User;
+import io.jsonwebtoken.JwtException;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -7,8 +9,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -58,4 +63,39 @@ public class AuthenticationController {
         }
     }
 
+    @PostMapping("logout")
+    public ResponseEntity<RegisterResponse> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return new ResponseEntity<>(new RegisterResponse(false, "Kein Token angegeben"),
+                    HttpStatus.BAD_REQUEST);
+        }
+        return revoke(new RevokeRequest(authHeader.substring(7)));
+    }
+
+    @PostMapping("revoke")
+    public ResponseEntity<RegisterResponse> revoke(@RequestBody @Valid RevokeRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof User currentUser)) {
+            return new ResponseEntity<>(new RegisterResponse(false, "Unauthorized"),
+                    HttpStatus.UNAUTHORIZED);
+        }
+        try {
+            authService.revoke(request.getToken(), currentUser);
+            return new ResponseEntity<>(new RegisterResponse(true, "Token widerrufen"),
+                    HttpStatus.OK);
+        } catch (BadCredentialsException e) {
+            return new ResponseEntity<>(new RegisterResponse(false, e.getMessage()),
+                    HttpStatus.FORBIDDEN);
+        } catch (JwtException e) {
+            return new ResponseEntity<>(new RegisterResponse(false, "Ungültiges Token"),
+                    HttpStatus.BAD_REQUEST);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new RegisterResponse(false, e.getMessage()),
+                    HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new RegisterResponse(false, "Ein fehler aufgetreten"),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
 }
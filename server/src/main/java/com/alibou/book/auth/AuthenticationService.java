@@ -1,8 +1,9 @@
 package com.alibou.book.auth;
 
 import com.alibou.book.email.EmailService;
-import com.alibou.book.role.RoleRepository;
+import com.alibou.book.role.RoleSeeder;
 import com.alibou.book.security.JwtService;
+import com.alibou.book.security.TokenDenylist;
 import com.alibou.book.user.User;
 import com.alibou.book.user.UserRepository;
 
@@ -22,18 +23,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AuthenticationService {
 
-    private final RoleRepository roleRepo;
+    private final RoleSeeder roleSeeder;
     private final UserRepository userRepo;
     private final EmailService emailService;
     private final AuthenticationManager authManager;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenDenylist tokenDenylist;
 
     public void register(RegisterRequest request) throws Exception {
 
         try {
-            var userRole = roleRepo.findByName("USER")
-                    .orElseThrow(() -> new Exception("Role: USER wurde nicht initialisiert"));
+            var userRole = roleSeeder.getOrCreate("USER");
 
             var user = User.builder()
                     .firstname(request.getFirstname())
@@ -83,4 +84,19 @@ public class AuthenticationService {
         }
 
     }
+
+    /**
+     * Revokes {@code jwt} until it expires. Users can only revoke their own tokens. Tokens issued
+     * without an id cannot be revoked and are rejected with an {@link IllegalArgumentException}.
+     */
+    public void revoke(String jwt, User user) {
+        if (!user.getUsername().equals(jwtService.extractUsername(jwt))) {
+            throw new BadCredentialsException("Token gehört einem anderen Benutzer");
+        }
+        String tokenId = jwtService.extractTokenId(jwt);
+        if (tokenId == null || tokenId.isBlank()) {
+            throw new IllegalArgumentException("Token ohne ID kann nicht widerrufen werden");
+        }
+        tokenDenylist.revoke(tokenId, jwtService.extractExpirationTime(jwt), user);
+    }
 }
@@ -0,0 +1,17 @@
+package com.alibou.book.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevokeRequest {
+
+    @NotBlank(message = "Token darf nicht leer sein")
+    private String token;
+}
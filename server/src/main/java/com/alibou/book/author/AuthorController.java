@@ -0,0 +1,24 @@
+package com.alibou.book.author;
+
+import com.alibou.book.post.PostResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("author")
+@RequiredArgsConstructor
+@Tag(name = "Author")
+public class AuthorController {
+
+    private final AuthorStatsService authorStatsService;
+
+    @GetMapping("get-author/{id}")
+    public ResponseEntity<PostResponse> getAuthor(@PathVariable Integer id) {
+        return authorStatsService.getAuthor(id);
+    }
+}
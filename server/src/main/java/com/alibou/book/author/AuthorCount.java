@@ -0,0 +1,8 @@
+package com.alibou.book.author;
+
+public interface AuthorCount {
+
+    Integer getAuthorId();
+
+    long getCount();
+}
@@ -0,0 +1,36 @@
+package com.alibou.book.author;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Materialized per-author totals, kept up to date by {@link AuthorStatsService} so an author
+ * profile is a single primary-key read instead of aggregates over {@code post} and {@code comment}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "author_stats")
+public class AuthorStats {
+
+    @Id
+    private Integer authorId;
+
+    private String fullname;
+
+    private long posts;
+
+    private long likes;
+
+    private long bookmarks;
+
+    private long shares;
+
+    /**
+     * Comments received on the author's posts.
+     */
+    private long comments;
+}
@@ -0,0 +1,36 @@
+package com.alibou.book.author;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AuthorStatsRepository extends JpaRepository<AuthorStats, Integer> {
+
+    @Modifying
+    @Query("UPDATE AuthorStats s SET s.posts = s.posts + :posts, s.likes = s.likes + :likes, " +
+            "s.bookmarks = s.bookmarks + :bookmarks, s.shares = s.shares + :shares WHERE s.authorId = :authorId")
+    int increment(@Param("authorId") Integer authorId,
+                  @Param("posts") long posts,
+                  @Param("likes") long likes,
+                  @Param("bookmarks") long bookmarks,
+                  @Param("shares") long shares);
+
+    @Query("SELECT p.author.id AS authorId, COUNT(p) AS posts, SUM(p.likes) AS likes, " +
+            "SUM(p.bookmarks) AS bookmarks, SUM(p.shares) AS shares FROM Post p GROUP BY p.author.id")
+    List<AuthorTotals> findAllTotals();
+
+    @Query("SELECT p.author.id AS authorId, COUNT(p) AS posts, SUM(p.likes) AS likes, " +
+            "SUM(p.bookmarks) AS bookmarks, SUM(p.shares) AS shares FROM Post p " +
+            "WHERE p.author.id = :authorId GROUP BY p.author.id")
+    Optional<AuthorTotals> findTotals(@Param("authorId") Integer authorId);
+
+    @Query("SELECT p.author.id AS authorId, COUNT(c) AS count FROM Comment c JOIN c.post p GROUP BY p.author.id")
+    List<AuthorCount> findAllCommentCounts();
+
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.post.author.id = :authorId")
+    long countComments(@Param("authorId") Integer authorId);
+}
@@ -0,0 +1,201 @@
+package com.alibou.book.author;
+
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostResponse;
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link AuthorStats} in step with posts and engagement.
+ * <p>
+ * Every committed change adds its delta to the author's row. A row is only created from an
+ * aggregate over the author's posts when none exists yet. Whatever slips through (other nodes,
+ * counters changed in the database, failed updates) is corrected by {@link #reconcile()}.
+ * <p>
+ * Edits do not touch any of the counted columns, so {@code UPDATED} events are ignored. Comments
+ * are not written through the application and come with no event, their counts, including
+ * those of deleted posts, are only brought up to date by reconciliation.
+ */
+@Slf4j
+@Service
+public class AuthorStatsService {
+
+    private final AuthorStatsRepository authorStatsRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuthorStatsService(AuthorStatsRepository authorStatsRepository,
+                              UserRepository userRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.authorStatsRepository = authorStatsRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // listeners run after the commit, while the finished transaction is still bound
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<PostResponse> getAuthor(Integer authorId) {
+        try {
+            AuthorStats stats = authorStatsRepository.findById(authorId)
+                    // authors without posts have no row
+                    .or(() -> userRepository.findById(authorId).map(AuthorStatsService::empty))
+                    .orElse(null);
+            if (stats == null) {
+                return new ResponseEntity<>(
+                        PostResponse.builder()
+                                .success(false)
+                                .message("No author found with id: " + authorId)
+                                .content(null)
+                                .build(),
+                        HttpStatus.NOT_FOUND
+                );
+            }
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(true)
+                            .message("Author fetched successfully")
+                            .content(Collections.singletonList(stats))
+                            .build(),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Error fetching author: " + e.getMessage())
+                            .content(null)
+                            .build(),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        Post post = event.post();
+        if (event.remote() || post.getAuthor() == null) {
+            return;
+        }
+        switch (event.type()) {
+            case CREATED -> apply(post.getAuthor(), 1, post.getLikes(), post.getBookmarks(), post.getShares());
+            case BOOKMARKED -> apply(post.getAuthor(), 0, 0, 1, 0);
+            case DELETED -> apply(post.getAuthor(), -1, -post.getLikes(), -post.getBookmarks(), -post.getShares());
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Recomputes all rows from the source tables and writes the ones that drifted.
+     */
+    @Scheduled(
+            initialDelayString = "${application.author-stats.initial-delay-ms:60000}",
+            fixedDelayString = "${application.author-stats.reconcile-ms:3600000}"
+    )
+    @Transactional
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        Map<Integer, AuthorStats> existing = authorStatsRepository.findAll()
+                .stream()
+                .collect(Collectors.toMap(AuthorStats::getAuthorId, Function.identity()));
+        Map<Integer, Long> comments = authorStatsRepository.findAllCommentCounts()
+                .stream()
+                .collect(Collectors.toMap(AuthorCount::getAuthorId, AuthorCount::getCount));
+        List<AuthorTotals> totals = authorStatsRepository.findAllTotals();
+
+        Map<Integer, AuthorTotals> missing = new HashMap<>();
+        int corrected = 0;
+        for (AuthorTotals row : totals) {
+            AuthorStats stats = existing.remove(row.getAuthorId());
+            if (stats == null) {
+                missing.put(row.getAuthorId(), row);
+            } else if (set(stats, row, comments.getOrDefault(row.getAuthorId(), 0L))) {
+                corrected++;
+            }
+        }
+        // authors whose posts are all gone
+        for (AuthorStats stats : existing.values()) {
+            if (set(stats, null, 0)) {
+                corrected++;
+            }
+        }
+        for (User user : userRepository.findAllById(missing.keySet())) {
+            AuthorStats stats = empty(user);
+            set(stats, missing.get(user.getId()), comments.getOrDefault(user.getId(), 0L));
+            authorStatsRepository.save(stats);
+        }
+        if (corrected > 0 || !missing.isEmpty()) {
+            log.info("Reconciled author stats in {} ms: {} corrected, {} created",
+                    System.currentTimeMillis() - start, corrected, missing.size());
+        }
+    }
+
+    private void apply(User author, long posts, long likes, long bookmarks, long shares) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> increment(author, posts, likes, bookmarks, shares));
+        } catch (DataIntegrityViolationException e) {
+            // another request created the row first
+            transactionTemplate.executeWithoutResult(status -> increment(author, posts, likes, bookmarks, shares));
+        } catch (RuntimeException e) {
+            log.warn("Could not update stats of author {}, left to reconciliation", author.getId(), e);
+        }
+    }
+
+    private void increment(User author, long posts, long likes, long bookmarks, long shares) {
+        if (authorStatsRepository.increment(author.getId(), posts, likes, bookmarks, shares) > 0) {
+            return;
+        }
+        // the change is already committed, so the aggregate includes it
+        AuthorStats stats = empty(author);
+        set(stats, authorStatsRepository.findTotals(author.getId()).orElse(null),
+                authorStatsRepository.countComments(author.getId()));
+        authorStatsRepository.saveAndFlush(stats);
+    }
+
+    /**
+     * Returns whether anything changed.
+     */
+    private static boolean set(AuthorStats stats, AuthorTotals totals, long comments) {
+        long posts = totals != null ? totals.getPosts() : 0;
+        long likes = totals != null ? totals.getLikes() : 0;
+        long bookmarks = totals != null ? totals.getBookmarks() : 0;
+        long shares = totals != null ? totals.getShares() : 0;
+        if (stats.getPosts() == posts && stats.getLikes() == likes && stats.getBookmarks() == bookmarks
+                && stats.getShares() == shares && stats.getComments() == comments) {
+            return false;
+        }
+        stats.setPosts(posts);
+        stats.setLikes(likes);
+        stats.setBookmarks(bookmarks);
+        stats.setShares(shares);
+        stats.setComments(comments);
+        return true;
+    }
+
+    private static AuthorStats empty(User user) {
+        return AuthorStats.builder()
+                .authorId(user.getId())
+                .fullname(user.getFullname())
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.alibou.book.author;
+
+/**
+ * Aggregated post counters of one author, as computed from the {@code post} table.
+ */
+public interface AuthorTotals {
+
+    Integer getAuthorId();
+
+    long getPosts();
+
+    long getLikes();
+
+    long getBookmarks();
+
+    long getShares();
+}
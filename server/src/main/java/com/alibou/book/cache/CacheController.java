@@ -0,0 +1,33 @@
+package com.alibou.book.cache;
+
+import com.alibou.book.post.PostResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache")
+public class CacheController {
+
+    private final SingleFlightRegistry singleFlights;
+
+    @GetMapping("get-single-flight-stats")
+    public ResponseEntity<PostResponse> getSingleFlightStats() {
+        return new ResponseEntity<>(
+                PostResponse.builder()
+                        .success(true)
+                        .message("Single flight stats fetched successfully")
+                        .content(List.copyOf(singleFlights.stats()))
+                        .build(),
+                HttpStatus.OK
+        );
+    }
+}
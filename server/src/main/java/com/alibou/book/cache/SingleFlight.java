@@ -0,0 +1,84 @@
+package com.alibou.book.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one.
+ * <p>
+ * The first caller for a key runs the loader, everyone asking for that key while it runs waits
+ * for and shares its result. Nothing is kept once the load finished, so results are never stale,
+ * this only turns a thundering herd into a single query. Waiting is bounded: a caller that waited
+ * {@code maxWaitMs} without a result gives up on the leader and loads on its own.
+ * <p>
+ * Shared values are handed to several threads at once and must not be modified.
+ */
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final long maxWaitMs;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(String name, long maxWaitMs) {
+        this.name = name;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        calls.increment();
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, own);
+        if (leader == null) {
+            return lead(key, own, loader);
+        }
+        try {
+            return leader.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            loads.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name + " " + key, e);
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> own, Supplier<V> loader) {
+        loads.increment();
+        try {
+            V value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SingleFlightStats stats() {
+        return new SingleFlightStats(name, calls.sum(), loads.sum(), timeouts.sum(), inFlight.size());
+    }
+}
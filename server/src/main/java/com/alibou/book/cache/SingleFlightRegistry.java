@@ -0,0 +1,54 @@
+package com.alibou.book.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the {@link SingleFlight}s of the application and reports how much they collapse.
+ */
+@Slf4j
+@Component
+public class SingleFlightRegistry {
+
+    private final long maxWaitMs;
+    private final Map<String, SingleFlight<?, ?>> flights = new ConcurrentHashMap<>();
+    private final Map<String, SingleFlightStats> lastReported = new ConcurrentHashMap<>();
+
+    public SingleFlightRegistry(@Value("${application.single-flight.max-wait-ms:2000}") long maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    public <K, V> SingleFlight<K, V> create(String name) {
+        SingleFlight<K, V> flight = new SingleFlight<>(name, maxWaitMs);
+        if (flights.putIfAbsent(name, flight) != null) {
+            throw new IllegalArgumentException("Duplicate single flight name: " + name);
+        }
+        return flight;
+    }
+
+    public List<SingleFlightStats> stats() {
+        return flights.values().stream().map(SingleFlight::stats).toList();
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.single-flight.report-ms:60000}",
+            fixedDelayString = "${application.single-flight.report-ms:60000}"
+    )
+    public void report() {
+        for (SingleFlightStats current : stats()) {
+            SingleFlightStats previous = lastReported.put(current.name(), current);
+            SingleFlightStats window = previous != null ? current.since(previous) : current;
+            if (window.calls() > 0) {
+                log.info("Single flight {}: {} calls, {} loads, {} timeouts, collapse ratio {}",
+                        window.name(), window.calls(), window.loads(), window.timeouts(),
+                        String.format("%.3f", window.collapseRatio()));
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.alibou.book.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Counters of one {@link SingleFlight} since startup. {@code loads} includes callers that
+ * timed out waiting and loaded on their own.
+ */
+public record SingleFlightStats(String name, long calls, long loads, long timeouts, int inFlight) {
+
+    /**
+     * Share of calls that were answered by another caller's load, 0 when nothing was collapsed.
+     */
+    @JsonProperty
+    public double collapseRatio() {
+        return calls == 0 ? 0 : 1 - (double) loads / calls;
+    }
+
+    SingleFlightStats since(SingleFlightStats previous) {
+        return new SingleFlightStats(name, calls - previous.calls, loads - previous.loads,
+                timeouts - previous.timeouts, inFlight);
+    }
+}
@@ -0,0 +1,34 @@
+package com.alibou.book.cluster;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One {@link InvalidationBatch} in the change table polled by {@link JdbcInvalidationTransport}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "cluster_change", indexes = @Index(columnList = "createdAt"))
+public class ClusterChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String origin;
+
+    private long sequence;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package com.alibou.book.cluster;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ClusterChangeRepository extends JpaRepository<ClusterChange, Long> {
+
+    @Query("SELECT c FROM ClusterChange c WHERE c.createdAt > :since AND c.origin <> :origin ORDER BY c.id")
+    List<ClusterChange> findSince(@Param("since") LocalDateTime since, @Param("origin") String origin);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ClusterChange c WHERE c.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
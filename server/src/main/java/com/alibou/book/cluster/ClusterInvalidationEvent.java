@@ -0,0 +1,7 @@
+package com.alibou.book.cluster;
+
+/**
+ * Published locally for every invalidation received from another node.
+ */
+public record ClusterInvalidationEvent(String origin, Invalidation invalidation) {
+}
@@ -0,0 +1,17 @@
+package com.alibou.book.cluster;
+
+/**
+ * A change other nodes have to drop or refresh cached state for. {@code id} is the post for post
+ * and bookmark changes and the followed user for follow changes, {@code userId} the user who
+ * bookmarked, followed or was disabled.
+ */
+public record Invalidation(Type type, Integer id, Integer userId) {
+
+    public enum Type {
+        POST_CREATED,
+        POST_UPDATED,
+        BOOKMARK_CHANGED,
+        FOLLOW_CHANGED,
+        USER_DISABLED
+    }
+}
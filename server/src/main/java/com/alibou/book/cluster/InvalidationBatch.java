@@ -0,0 +1,11 @@
+package com.alibou.book.cluster;
+
+import java.util.List;
+
+/**
+ * What a node sends at once. {@code sequence} counts the batches of {@code origin} without gaps
+ * since it started at {@code epoch}, which lets receivers apply them in order and skip ones
+ * delivered twice.
+ */
+public record InvalidationBatch(String origin, long epoch, long sequence, List<Invalidation> invalidations) {
+}
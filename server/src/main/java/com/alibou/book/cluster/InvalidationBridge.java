@@ -0,0 +1,88 @@
+package com.alibou.book.cluster;
+
+import com.alibou.book.follow.FollowEvent;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.user.UserEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Turns local domain events into {@link Invalidation}s for the other nodes, and invalidations
+ * from other nodes back into {@code remote} domain events, so every in-memory index reacts to
+ * remote changes the same way it does to local ones.
+ */
+@Component
+public class InvalidationBridge {
+
+    private final InvalidationBus invalidationBus;
+    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public InvalidationBridge(InvalidationBus invalidationBus,
+                              PostRepository postRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager) {
+        this.invalidationBus = invalidationBus;
+        this.postRepository = postRepository;
+        this.eventPublisher = eventPublisher;
+        // not read-only: a replica might not have the change yet
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        Integer postId = event.post().getId();
+        switch (event.type()) {
+            case CREATED -> invalidationBus.publish(new Invalidation(Invalidation.Type.POST_CREATED, postId, event.userId()));
+            case UPDATED -> invalidationBus.publish(new Invalidation(Invalidation.Type.POST_UPDATED, postId, event.userId()));
+            case BOOKMARKED -> invalidationBus.publish(new Invalidation(Invalidation.Type.BOOKMARK_CHANGED, postId, event.userId()));
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowEvent(FollowEvent event) {
+        if (!event.remote()) {
+            invalidationBus.publish(new Invalidation(Invalidation.Type.FOLLOW_CHANGED, event.followeeId(), event.followerId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        if (!event.remote()) {
+            invalidationBus.publish(new Invalidation(Invalidation.Type.USER_DISABLED, null, event.userId()));
+        }
+    }
+
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        Invalidation invalidation = event.invalidation();
+        switch (invalidation.type()) {
+            case POST_CREATED -> replay(PostEvent.Type.CREATED, invalidation);
+            case POST_UPDATED -> replay(PostEvent.Type.UPDATED, invalidation);
+            case BOOKMARK_CHANGED -> replay(PostEvent.Type.BOOKMARKED, invalidation);
+            case FOLLOW_CHANGED -> eventPublisher.publishEvent(
+                    new FollowEvent(invalidation.userId(), invalidation.id(), true, true));
+            case USER_DISABLED -> eventPublisher.publishEvent(
+                    new UserEvent(UserEvent.Type.DISABLED, invalidation.userId(), true));
+        }
+    }
+
+    /**
+     * Published inside the transaction, so listeners run after it and can still load lazy parts.
+     */
+    private void replay(PostEvent.Type type, Invalidation invalidation) {
+        transactionTemplate.executeWithoutResult(status -> postRepository.findWithBodyById(invalidation.id())
+                .ifPresent(post -> eventPublisher.publishEvent(new PostEvent(type, post, invalidation.userId(), true))));
+    }
+}
@@ -0,0 +1,225 @@
+package com.alibou.book.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcasts {@link Invalidation}s to the other nodes and replays theirs locally as
+ * {@link ClusterInvalidationEvent}s.
+ * <p>
+ * Outgoing invalidations are collected for {@code application.cluster.batch-ms}, identical ones
+ * coalesced, and sent as one numbered batch through every configured {@link InvalidationTransport}.
+ * Incoming batches are applied on a single thread in the order of their sequence per origin, so
+ * changes to the same key are never seen out of order. A batch arriving ahead of a missing one
+ * waits up to {@code application.cluster.gap-timeout-ms} for the gap to be filled, e.g. by the
+ * change-table transport catching up on a lost datagram, then the gap is skipped. Sequences
+ * restart with every boot, batches carry the boot time as epoch so a restarted node is
+ * recognized instead of having its batches ignored as duplicates.
+ * Without any transport the bus does nothing.
+ */
+@Slf4j
+@Component
+public class InvalidationBus implements SmartLifecycle {
+
+    private static final int MAX_BATCH = 200;
+
+    private final List<InvalidationTransport> transports;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+    private final long batchMillis;
+    private final long gapTimeoutMillis;
+    private final long epoch = System.currentTimeMillis();
+
+    private final Set<Invalidation> pending = new LinkedHashSet<>();
+    private long sequence;
+    // only touched on the dispatcher thread
+    private final Map<String, Inbox> inboxes = new HashMap<>();
+
+    private ScheduledExecutorService sender;
+    private ScheduledExecutorService dispatcher;
+    private volatile boolean running;
+
+    private static final class Inbox {
+        final long epoch;
+        long next;
+        long waitingSince;
+        final TreeMap<Long, InvalidationBatch> waiting = new TreeMap<>();
+
+        Inbox(long epoch, long next) {
+            this.epoch = epoch;
+            this.next = next;
+        }
+    }
+
+    public InvalidationBus(
+            ObjectProvider<InvalidationTransport> transports,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${application.cluster.node-id:}") String nodeId,
+            @Value("${application.cluster.batch-ms:50}") long batchMillis,
+            @Value("${application.cluster.gap-timeout-ms:3000}") long gapTimeoutMillis
+    ) {
+        this.transports = transports.orderedStream().toList();
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.batchMillis = batchMillis;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void publish(Invalidation invalidation) {
+        if (!running) {
+            return;
+        }
+        synchronized (pending) {
+            pending.add(invalidation);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (transports.isEmpty()) {
+            return;
+        }
+        sender = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "invalidation-sender"));
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "invalidation-dispatcher"));
+        for (InvalidationTransport transport : transports) {
+            transport.start(nodeId, this::receive);
+        }
+        sender.scheduleWithFixedDelay(this::flush, batchMillis, batchMillis, TimeUnit.MILLISECONDS);
+        long gapCheck = Math.max(gapTimeoutMillis / 2, 10);
+        dispatcher.scheduleWithFixedDelay(this::skipGaps, gapCheck, gapCheck, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Invalidation bus {} started with {}", nodeId,
+                transports.stream().map(transport -> transport.getClass().getSimpleName()).toList());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        sender.execute(this::flush);
+        sender.shutdown();
+        try {
+            sender.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        transports.forEach(InvalidationTransport::stop);
+        dispatcher.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void flush() {
+        List<Invalidation> drained;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            drained = new ArrayList<>(pending);
+            pending.clear();
+        }
+        for (int from = 0; from < drained.size(); from += MAX_BATCH) {
+            InvalidationBatch batch = new InvalidationBatch(nodeId, epoch, ++sequence,
+                    List.copyOf(drained.subList(from, Math.min(drained.size(), from + MAX_BATCH))));
+            for (InvalidationTransport transport : transports) {
+                try {
+                    transport.send(batch);
+                } catch (RuntimeException e) {
+                    log.warn("{} could not send invalidation batch {}", transport.getClass().getSimpleName(),
+                            batch.sequence(), e);
+                }
+            }
+        }
+    }
+
+    void receive(InvalidationBatch batch) {
+        if (nodeId.equals(batch.origin()) || dispatcher.isShutdown()) {
+            return;
+        }
+        dispatcher.execute(() -> accept(batch));
+    }
+
+    private void accept(InvalidationBatch batch) {
+        Inbox inbox = inboxes.get(batch.origin());
+        if (inbox == null) {
+            // first batch seen from this node, everything before it predates us
+            inbox = new Inbox(batch.epoch(), batch.sequence());
+            inboxes.put(batch.origin(), inbox);
+        } else if (batch.epoch() > inbox.epoch) {
+            // the node restarted and counts from 1 again, what is still waiting is from before
+            log.info("Node {} restarted, following its new sequence", batch.origin());
+            inbox = new Inbox(batch.epoch(), 1);
+            inboxes.put(batch.origin(), inbox);
+        }
+        if (batch.epoch() < inbox.epoch || batch.sequence() < inbox.next) {
+            return;
+        }
+        inbox.waiting.putIfAbsent(batch.sequence(), batch);
+        drain(inbox);
+    }
+
+    private void skipGaps() {
+        long now = System.currentTimeMillis();
+        inboxes.forEach((origin, inbox) -> {
+            if (!inbox.waiting.isEmpty() && now - inbox.waitingSince >= gapTimeoutMillis) {
+                long first = inbox.waiting.firstKey();
+                log.warn("Skipping invalidation batches {} to {} of node {}", inbox.next, first - 1, origin);
+                inbox.next = first;
+                drain(inbox);
+            }
+        });
+    }
+
+    private void drain(Inbox inbox) {
+        while (!inbox.waiting.isEmpty() && inbox.waiting.firstKey() == inbox.next) {
+            apply(inbox.waiting.pollFirstEntry().getValue());
+            inbox.next++;
+        }
+        if (inbox.waiting.isEmpty()) {
+            inbox.waitingSince = 0;
+        } else if (inbox.waitingSince == 0) {
+            inbox.waitingSince = System.currentTimeMillis();
+        }
+    }
+
+    private void apply(InvalidationBatch batch) {
+        for (Invalidation invalidation : batch.invalidations()) {
+            try {
+                eventPublisher.publishEvent(new ClusterInvalidationEvent(batch.origin(), invalidation));
+            } catch (RuntimeException e) {
+                log.warn("Could not apply {} from node {}", invalidation, batch.origin(), e);
+            }
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,16 @@
+package com.alibou.book.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link InvalidationBatch}es between nodes for the {@link InvalidationBus}. Delivery may
+ * be lossy, duplicated or out of order, the bus sorts that out.
+ */
+public interface InvalidationTransport {
+
+    void start(String nodeId, Consumer<InvalidationBatch> receiver);
+
+    void send(InvalidationBatch batch);
+
+    void stop();
+}
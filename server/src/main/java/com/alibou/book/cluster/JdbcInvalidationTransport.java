@@ -0,0 +1,106 @@
+package com.alibou.book.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Writes every batch to the {@code cluster_change} table and polls it for the batches of other
+ * nodes. Slower than {@link UdpInvalidationTransport} but loses nothing while the database is up.
+ * Each poll looks back {@code application.cluster.jdbc.lookback-ms} before the previous one, so
+ * rows committed late are still seen; the bus drops what it already applied.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.cluster.jdbc.enabled", havingValue = "true")
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private final ClusterChangeRepository clusterChangeRepository;
+    private final ObjectMapper objectMapper;
+    private final long pollMillis;
+    private final Duration lookback;
+    private final Duration retention;
+
+    private ScheduledExecutorService poller;
+    private String nodeId;
+    private LocalDateTime lastPoll;
+
+    public JdbcInvalidationTransport(
+            ClusterChangeRepository clusterChangeRepository,
+            ObjectMapper objectMapper,
+            @Value("${application.cluster.jdbc.poll-ms:1000}") long pollMillis,
+            @Value("${application.cluster.jdbc.lookback-ms:10000}") long lookbackMillis,
+            @Value("${application.cluster.jdbc.retention-minutes:10}") long retentionMinutes
+    ) {
+        this.clusterChangeRepository = clusterChangeRepository;
+        this.objectMapper = objectMapper;
+        this.pollMillis = pollMillis;
+        this.lookback = Duration.ofMillis(lookbackMillis);
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    @Override
+    public void start(String nodeId, Consumer<InvalidationBatch> consumer) {
+        this.nodeId = nodeId;
+        this.lastPoll = LocalDateTime.now();
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> poll(consumer), pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purge, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void send(InvalidationBatch batch) {
+        try {
+            clusterChangeRepository.save(ClusterChange.builder()
+                    .origin(batch.origin())
+                    .sequence(batch.sequence())
+                    .payload(objectMapper.writeValueAsString(batch))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    private void poll(Consumer<InvalidationBatch> consumer) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            for (ClusterChange change : clusterChangeRepository.findSince(lastPoll.minus(lookback), nodeId)) {
+                consumer.accept(objectMapper.readValue(change.getPayload(), InvalidationBatch.class));
+            }
+            lastPoll = now;
+        } catch (Exception e) {
+            log.warn("Polling cluster changes failed: {}", e.getMessage());
+        }
+    }
+
+    private void purge() {
+        try {
+            clusterChangeRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        } catch (RuntimeException e) {
+            log.warn("Purging cluster changes failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.alibou.book.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Sends every batch as one UDP datagram to each configured peer. Fast, but datagrams can get
+ * lost, so it is best combined with {@link JdbcInvalidationTransport}. The peer list may
+ * contain the node itself, its own batches are ignored.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("application.cluster.udp.port")
+public class UdpInvalidationTransport implements InvalidationTransport {
+
+    private static final int MAX_DATAGRAM = 65_507;
+
+    private final ObjectMapper objectMapper;
+    private final InetSocketAddress bindAddress;
+    private final List<InetSocketAddress> peers;
+
+    private DatagramChannel channel;
+    private Thread receiver;
+
+    public UdpInvalidationTransport(
+            ObjectMapper objectMapper,
+            @Value("${application.cluster.udp.bind-address:0.0.0.0}") String bindAddress,
+            @Value("${application.cluster.udp.port}") int port,
+            @Value("${application.cluster.udp.peers:}") String peers
+    ) {
+        this.objectMapper = objectMapper;
+        this.bindAddress = new InetSocketAddress(bindAddress, port);
+        this.peers = Arrays.stream(peers.split(","))
+                .filter(peer -> !peer.isBlank())
+                .map(UdpInvalidationTransport::address)
+                .toList();
+    }
+
+    @Override
+    public void start(String nodeId, Consumer<InvalidationBatch> consumer) {
+        try {
+            channel = DatagramChannel.open().bind(bindAddress);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not bind invalidation socket to " + bindAddress, e);
+        }
+        receiver = new Thread(() -> receive(consumer), "invalidation-udp");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @Override
+    public void send(InvalidationBatch batch) {
+        byte[] data;
+        try {
+            data = objectMapper.writeValueAsBytes(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (data.length > MAX_DATAGRAM) {
+            log.warn("Invalidation batch {} is {} bytes, too large for a datagram", batch.sequence(), data.length);
+            return;
+        }
+        for (InetSocketAddress peer : peers) {
+            try {
+                channel.send(ByteBuffer.wrap(data), peer);
+            } catch (IOException e) {
+                log.debug("Could not send invalidation batch to {}: {}", peer, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.debug("Closing invalidation socket failed", e);
+        }
+    }
+
+    private void receive(Consumer<InvalidationBatch> consumer) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                channel.receive(buffer);
+                buffer.flip();
+                consumer.accept(objectMapper.readValue(buffer.array(), 0, buffer.limit(), InvalidationBatch.class));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Dropping unreadable invalidation datagram: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static InetSocketAddress address(String peer) {
+        int colon = peer.lastIndexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Invalidation peer must be host:port, got " + peer);
+        }
+        return new InetSocketAddress(peer.substring(0, colon).trim(), Integer.parseInt(peer.substring(colon + 1).trim()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.alibou.book.comment;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,7 +12,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "tag")
+@Table(name = "tag", uniqueConstraints = @UniqueConstraint(name = "uk_tag_name_key", columnNames = "name_key"))
 @EntityListeners(AuditingEntityListener.class)
 public class Tag {
 
@@ -20,4 +21,12 @@ public class Tag {
     private Long id;
 
     private String name;
+
+    /**
+     * Lower-cased name maintained by the database, names are unique ignoring case.
+     */
+    @JsonIgnore
+    @Column(name = "name_key", insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as (lower(name))")
+    private String nameKey;
 }
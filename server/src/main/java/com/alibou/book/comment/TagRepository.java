@@ -0,0 +1,14 @@
+package com.alibou.book.comment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    @Query("SELECT t FROM Tag t WHERE t.nameKey IN :keys")
+    List<Tag> findByNameKeyIn(@Param("keys") Collection<String> keys);
+}
@@ -0,0 +1,78 @@
+package com.alibou.book.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Only active when a replica is configured, otherwise Spring Boot's single datasource is used.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource.replica", name = "url")
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            DataSourceProperties primaryProperties,
+            Environment environment,
+            @Value("${application.datasource.replica.url}") String replicaUrl,
+            @Value("${application.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${application.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${application.datasource.read-your-writes-seconds:5}") long readYourWritesSeconds,
+            @Value("${application.datasource.replica-retry-seconds:30}") long replicaRetrySeconds
+    ) {
+        HikariDataSource primary = primaryProperties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        replica.setConnectionTimeout(1000);
+        // don't fail startup when the replica is down, the routing falls back to the primary
+        replica.setInitializationFailTimeout(-1);
+
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primary,
+                replica,
+                Duration.ofSeconds(readYourWritesSeconds),
+                Duration.ofSeconds(replicaRetrySeconds)
+        ));
+    }
+
+    /**
+     * Hibernate holds on to a connection for the whole session by default, with open session in
+     * view that is the whole request. The first transaction would then decide the route of all
+     * later ones, a write after a read would go to the replica. Releasing the connection after
+     * every transaction makes each one fetch and route its own.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,127 @@
+package com.alibou.book.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * A user who just wrote is pinned to the primary for {@code readYourWrites} so they
+ * never read a stale replica. If the replica refuses connections it is skipped for
+ * {@code replicaRetry} and reads go to the primary meanwhile. Expired pins are swept on
+ * writes, at most once per {@code readYourWrites}, so users who never read again don't stay.
+ * <p>
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * otherwise the connection is fetched before the read-only flag of the transaction is visible.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long readYourWritesNanos;
+    private final long replicaRetryNanos;
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private volatile long replicaDownUntil = 0;
+    private volatile long nextSweep = System.nanoTime();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    Duration readYourWrites, Duration replicaRetry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readYourWritesNanos = readYourWrites.toNanos();
+        this.replicaRetryNanos = replicaRetry.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineRoute() == Route.REPLICA) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                markReplicaDown(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (determineRoute() == Route.REPLICA) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                markReplicaDown(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    public Route determineRoute() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && readYourWritesNanos > 0
+                    && TransactionSynchronizationManager.isActualTransactionActive()) {
+                long now = System.nanoTime();
+                pinnedUntil.put(user, now + readYourWritesNanos);
+                sweep(now);
+            }
+            return Route.PRIMARY;
+        }
+        if (user != null && isPinned(user)) {
+            return Route.PRIMARY;
+        }
+        if (replicaDownUntil != 0 && System.nanoTime() - replicaDownUntil < 0) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    private boolean isPinned(String user) {
+        Long until = pinnedUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        pinnedUntil.remove(user, until);
+        return false;
+    }
+
+    private void sweep(long now) {
+        if (now - nextSweep < 0) {
+            return;
+        }
+        nextSweep = now + readYourWritesNanos;
+        pinnedUntil.values().removeIf(until -> now - until >= 0);
+    }
+
+    int pinnedUsers() {
+        return pinnedUntil.size();
+    }
+
+    private void markReplicaDown(SQLException e) {
+        replicaDownUntil = System.nanoTime() + replicaRetryNanos;
+        log.warn("Replica unavailable, routing reads to primary for {} s: {}",
+                Duration.ofNanos(replicaRetryNanos).toSeconds(), e.getMessage());
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : null;
+    }
+}
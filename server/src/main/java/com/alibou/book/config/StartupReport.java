@@ -0,0 +1,71 @@
+package com.alibou.book.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs the slowest startup steps once the application is ready. Steps are ranked by their own
+ * time, without the time of their nested steps, so a slow bean shows up as itself rather than as
+ * the context refresh that contains it.
+ */
+@Slf4j
+@Component
+public class StartupReport {
+
+    private final int steps;
+
+    public StartupReport(@Value("${application.startup.report-steps:15}") int steps) {
+        this.steps = steps;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        // draining also frees the buffer
+        List<StartupTimeline.TimelineEvent> events = startup.drainBufferedTimeline().getEvents();
+        Map<Long, Duration> nested = new HashMap<>();
+        for (StartupTimeline.TimelineEvent step : events) {
+            Long parent = step.getStartupStep().getParentId();
+            if (parent != null) {
+                nested.merge(parent, step.getDuration(), Duration::plus);
+            }
+        }
+        String report = events.stream()
+                .sorted(Comparator.comparing((StartupTimeline.TimelineEvent step) -> ownTime(step, nested)).reversed())
+                .limit(steps)
+                .map(step -> String.format("%n%8d ms %8d ms  %s %s",
+                        ownTime(step, nested).toMillis(),
+                        step.getDuration().toMillis(),
+                        step.getStartupStep().getName(),
+                        tags(step.getStartupStep())))
+                .collect(Collectors.joining());
+        log.info("Started in {} ms, slowest of {} steps (own time, total time):{}",
+                event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1, events.size(), report);
+    }
+
+    private static Duration ownTime(StartupTimeline.TimelineEvent step, Map<Long, Duration> nested) {
+        return step.getDuration().minus(nested.getOrDefault(step.getStartupStep().getId(), Duration.ZERO));
+    }
+
+    private static String tags(StartupStep step) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
@@ -0,0 +1,27 @@
+package com.alibou.book.facet;
+
+import com.alibou.book.post.PostResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("facet")
+@RequiredArgsConstructor
+@Tag(name = "Facet")
+public class FacetController {
+
+    private final FacetService facetService;
+
+    @GetMapping("get-facets")
+    public ResponseEntity<PostResponse> getFacets(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String tag
+    ) {
+        return facetService.getFacets(category, tag);
+    }
+}
@@ -0,0 +1,7 @@
+package com.alibou.book.facet;
+
+/**
+ * A category or tag as last spelled by a post, with the number of posts having it.
+ */
+public record FacetCount(String name, long count) {
+}
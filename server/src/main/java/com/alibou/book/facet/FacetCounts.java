@@ -0,0 +1,10 @@
+package com.alibou.book.facet;
+
+import java.util.List;
+
+/**
+ * Facet counts among the posts matching a filter, {@code total} is the number of those posts.
+ * Both lists are ordered by count, highest first.
+ */
+public record FacetCounts(long total, List<FacetCount> categories, List<FacetCount> tags) {
+}
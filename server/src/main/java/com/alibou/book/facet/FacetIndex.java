@@ -0,0 +1,187 @@
+package com.alibou.book.facet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Post counts per category and tag, kept up to date one post at a time.
+ * <p>
+ * Besides the global counts every facet has the counts of all facets among its own posts, so a
+ * scoped lookup is a single map read no matter how many posts there are. A post with k tags
+ * touches (k + 1)² counters when it changes. The facets of every post are kept as well, an
+ * update only has to subtract what the post counted for before.
+ * <p>
+ * While a rebuild reads the DB, changes are applied as usual and also recorded, they are
+ * replayed onto the rebuilt index before it replaces the current one.
+ */
+final class FacetIndex {
+
+    enum Kind {
+        CATEGORY,
+        TAG
+    }
+
+    record Facet(Kind kind, String key) {
+
+        static Facet category(String name) {
+            return name == null || name.isBlank() ? null : new Facet(Kind.CATEGORY, normalize(name));
+        }
+
+        static Facet tag(String name) {
+            return name == null || name.isBlank() ? null : new Facet(Kind.TAG, normalize(name));
+        }
+    }
+
+    private static final Comparator<FacetCount> BY_COUNT = Comparator.comparingLong(FacetCount::count)
+            .reversed()
+            .thenComparing(FacetCount::name);
+
+    private Map<Integer, Set<Facet>> posts = new HashMap<>();
+    private Map<Facet, Long> global = new HashMap<>();
+    private Map<Facet, Map<Facet, Long>> within = new HashMap<>();
+    private Map<Facet, String> names = new HashMap<>();
+    private List<Change> journal;
+
+    /**
+     * Sets the category and tags of a post, replacing whatever it had before.
+     */
+    synchronized void put(Integer postId, String category, Collection<String> tags) {
+        if (journal != null) {
+            journal.add(new Change(postId, category, tags == null ? null : new ArrayList<>(tags), false));
+        }
+        Map<Facet, String> spelled = new LinkedHashMap<>();
+        add(spelled, Facet.category(category), category);
+        if (tags != null) {
+            for (String tag : tags) {
+                add(spelled, Facet.tag(tag), tag);
+            }
+        }
+        Set<Facet> facets = Set.copyOf(spelled.keySet());
+        Set<Facet> previous = posts.put(postId, facets);
+        if (previous != null) {
+            count(previous, -1);
+        }
+        count(facets, 1);
+        // the latest spelling is shown
+        names.putAll(spelled);
+    }
+
+    synchronized void remove(Integer postId) {
+        if (journal != null) {
+            journal.add(new Change(postId, null, null, true));
+        }
+        Set<Facet> previous = posts.remove(postId);
+        if (previous != null) {
+            count(previous, -1);
+        }
+    }
+
+    /**
+     * Counts among the posts having {@code scope}, or among all posts when it is null.
+     */
+    synchronized FacetCounts counts(Facet scope) {
+        Map<Facet, Long> row = scope == null ? global : within.getOrDefault(scope, Map.of());
+        long total = scope == null ? posts.size() : row.getOrDefault(scope, 0L);
+        List<FacetCount> categories = new ArrayList<>();
+        List<FacetCount> tags = new ArrayList<>();
+        for (var entry : row.entrySet()) {
+            var count = new FacetCount(names.get(entry.getKey()), entry.getValue());
+            (entry.getKey().kind() == Kind.CATEGORY ? categories : tags).add(count);
+        }
+        categories.sort(BY_COUNT);
+        tags.sort(BY_COUNT);
+        return new FacetCounts(total, categories, tags);
+    }
+
+    synchronized int size() {
+        return posts.size();
+    }
+
+    /**
+     * Starts recording changes for {@link #finishRebuild}, call it before reading the DB.
+     */
+    synchronized void startRebuild() {
+        journal = new ArrayList<>();
+    }
+
+    /**
+     * Replays the changes recorded since {@link #startRebuild} onto {@code rebuilt} and takes
+     * over its counts. Returns the number of posts whose facets were wrong.
+     */
+    synchronized int finishRebuild(FacetIndex rebuilt) {
+        List<Change> changes = journal;
+        journal = null;
+        if (changes != null) {
+            for (Change change : changes) {
+                if (change.removed()) {
+                    rebuilt.remove(change.postId());
+                } else {
+                    rebuilt.put(change.postId(), change.category(), change.tags());
+                }
+            }
+        }
+        int drifted = 0;
+        for (var entry : rebuilt.posts.entrySet()) {
+            if (!Objects.equals(posts.get(entry.getKey()), entry.getValue())) {
+                drifted++;
+            }
+        }
+        for (Integer postId : posts.keySet()) {
+            if (!rebuilt.posts.containsKey(postId)) {
+                drifted++;
+            }
+        }
+        posts = rebuilt.posts;
+        global = rebuilt.global;
+        within = rebuilt.within;
+        names = rebuilt.names;
+        return drifted;
+    }
+
+    synchronized void abortRebuild() {
+        journal = null;
+    }
+
+    private static void add(Map<Facet, String> spelled, Facet facet, String name) {
+        if (facet != null) {
+            spelled.putIfAbsent(facet, name.trim());
+        }
+    }
+
+    private void count(Collection<Facet> facets, long delta) {
+        for (Facet facet : facets) {
+            if (increment(global, facet, delta)) {
+                names.remove(facet);
+            }
+            Map<Facet, Long> row = within.computeIfAbsent(facet, f -> new HashMap<>());
+            for (Facet other : facets) {
+                increment(row, other, delta);
+            }
+            if (row.isEmpty()) {
+                within.remove(facet);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the counter dropped to zero and was removed.
+     */
+    private static boolean increment(Map<Facet, Long> counts, Facet facet, long delta) {
+        return counts.merge(facet, delta, (a, b) -> a + b == 0 ? null : a + b) == null;
+    }
+
+    static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Change(Integer postId, String category, Collection<String> tags, boolean removed) {
+    }
+}
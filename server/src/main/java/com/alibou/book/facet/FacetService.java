@@ -0,0 +1,129 @@
+package com.alibou.book.facet;
+
+import com.alibou.book.comment.Tag;
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostFacetRow;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Number of posts per category and tag for the filters, optionally among the posts of one
+ * category or tag.
+ * <p>
+ * Counts live in a {@link FacetIndex} that follows post events, a lookup never touches the DB.
+ * The index is loaded on startup and rebuilt every {@code application.facet.reconcile-ms} from
+ * a single projection query, which corrects changes made on other nodes or without an event.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FacetService {
+
+    private final PostRepository postRepository;
+    private final FacetIndex index = new FacetIndex();
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+
+    public ResponseEntity<PostResponse> getFacets(String category, String tag) {
+        boolean byCategory = category != null && !category.isBlank();
+        boolean byTag = tag != null && !tag.isBlank();
+        if (byCategory && byTag) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Filter by either a category or a tag")
+                            .content(null)
+                            .build(),
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        FacetCounts counts = index.counts(byCategory ? FacetIndex.Facet.category(category)
+                : byTag ? FacetIndex.Facet.tag(tag) : null);
+        return new ResponseEntity<>(
+                PostResponse.builder()
+                        .success(true)
+                        .message("Facets fetched successfully")
+                        .content(Collections.singletonList(counts))
+                        .build(),
+                HttpStatus.OK
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        Post post = event.post();
+        switch (event.type()) {
+            case CREATED, UPDATED -> index.put(post.getId(), post.getCategory(), tagNames(post));
+            case DELETED -> index.remove(post.getId());
+            default -> {
+            }
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.facet.reconcile-ms:600000}",
+            fixedDelayString = "${application.facet.reconcile-ms:600000}"
+    )
+    public void reconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        index.startRebuild();
+        try {
+            long start = System.currentTimeMillis();
+            Map<Integer, PostFacets> posts = new HashMap<>();
+            for (PostFacetRow row : postRepository.findAllFacetRows()) {
+                PostFacets facets = posts.computeIfAbsent(row.getId(),
+                        id -> new PostFacets(row.getCategory(), new ArrayList<>()));
+                if (row.getTag() != null) {
+                    facets.tags().add(row.getTag());
+                }
+            }
+            FacetIndex rebuilt = new FacetIndex();
+            posts.forEach((id, facets) -> rebuilt.put(id, facets.category(), facets.tags()));
+            int drifted = index.finishRebuild(rebuilt);
+            if (drifted > 0) {
+                log.info("Reconciled facet counts of {} posts in {} ms, {} had drifted",
+                        posts.size(), System.currentTimeMillis() - start, drifted);
+            }
+        } catch (RuntimeException e) {
+            index.abortRebuild();
+            log.warn("Could not reconcile facet counts", e);
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    private static List<String> tagNames(Post post) {
+        if (post.getTags() == null) {
+            return List.of();
+        }
+        return post.getTags().stream().map(Tag::getName).toList();
+    }
+
+    private record PostFacets(String category, List<String> tags) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.alibou.book.feed;
+
+import com.alibou.book.post.PostResponse;
+import com.alibou.book.user.User;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("feed")
+@RequiredArgsConstructor
+@Tag(name = "Feed")
+public class FeedController {
+
+    private final FeedService feedService;
+
+    @GetMapping("get-for-you")
+    public ResponseEntity<PostResponse> getForYou(@RequestParam(defaultValue = "20") int limit) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return new ResponseEntity<>(new PostResponse(false, "Unauthorized", null),
+                    HttpStatus.UNAUTHORIZED
+            );
+        }
+        return feedService.getForYou(currentUser, Math.min(limit, FeedService.MAX_FEED));
+    }
+}
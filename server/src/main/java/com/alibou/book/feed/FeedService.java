@@ -0,0 +1,259 @@
+package com.alibou.book.feed;
+
+import com.alibou.book.comment.Tag;
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostResponse;
+import com.alibou.book.post.PostService;
+import com.alibou.book.post.PostSummary;
+import com.alibou.book.trending.TrendingService;
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * "For you" feed ranked from the tags and categories of the posts a user bookmarked.
+ * <p>
+ * Candidates come from bounded lists of the most recent post ids per tag and category, so
+ * ranking touches at most a few hundred ids however large the post table is.
+ */
+@Service
+@RequiredArgsConstructor
+public class FeedService {
+
+    public static final int MAX_FEED = 50;
+    private static final int MAX_TAGS = 8;
+    private static final int MAX_CATEGORIES = 3;
+    private static final int IDS_PER_TERM = 100;
+    private static final double CATEGORY_FACTOR = 0.5;
+    private static final int MAX_PROFILES = 100_000;
+    private static final long FEED_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final TrendingService trendingService;
+
+    private final Map<Integer, InterestProfile> profiles = Collections.synchronizedMap(
+            new LinkedHashMap<>(1024, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, InterestProfile> eldest) {
+                    return size() > MAX_PROFILES;
+                }
+            });
+    private final Map<String, List<Integer>> recentIds = new ConcurrentHashMap<>();
+    private final Map<Integer, CachedFeed> feeds = new ConcurrentHashMap<>();
+
+    private record CachedFeed(List<Integer> ids, long expiresAt) {
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<PostResponse> getForYou(User user, int limit) {
+        try {
+            List<Integer> ids = getForYouIds(user, limit);
+            if (ids.isEmpty()) {
+                return new ResponseEntity<>(
+                        PostResponse.builder()
+                                .success(false)
+                                .message("No posts found")
+                                .content(null)
+                                .build(),
+                        HttpStatus.NOT_FOUND
+                );
+            }
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(true)
+                            .message("Feed fetched successfully")
+                            .content(PostSummary.fromAll(postService.findAllInOrder(ids)))
+                            .build(),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Error fetching feed: " + e.getMessage())
+                            .content(null)
+                            .build(),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    public List<Integer> getForYouIds(User user, int limit) {
+        long now = System.nanoTime();
+        CachedFeed cached = feeds.get(user.getId());
+        List<Integer> ids;
+        if (cached != null && now - cached.expiresAt() < 0) {
+            ids = cached.ids();
+        } else {
+            ids = rank(user);
+            feeds.put(user.getId(), new CachedFeed(ids, now + FEED_TTL_NANOS));
+        }
+        return ids.size() <= limit ? ids : ids.subList(0, Math.max(limit, 0));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        Post post = event.post();
+        switch (event.type()) {
+            case CREATED -> {
+                for (String tag : tagNames(post)) {
+                    recentIds.computeIfPresent(tagKey(tag), (key, ids) -> prepend(ids, post.getId()));
+                }
+                if (post.getCategory() != null) {
+                    recentIds.computeIfPresent(categoryKey(normalize(post.getCategory())), (key, ids) -> prepend(ids, post.getId()));
+                }
+            }
+            case UPDATED, DELETED -> {
+                // lists the post joined or left are reloaded on their next use
+                Set<String> keys = event.type() == PostEvent.Type.DELETED ? Set.of() : termKeys(post);
+                recentIds.entrySet().removeIf(entry -> entry.getValue().contains(post.getId()) != keys.contains(entry.getKey()));
+            }
+            case BOOKMARKED -> {
+                InterestProfile profile = profiles.get(event.userId());
+                if (profile != null) {
+                    profile.add(tagNames(post), normalizeCategory(post));
+                }
+                feeds.remove(event.userId());
+            }
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        profiles.remove(event.userId());
+        feeds.remove(event.userId());
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpiredFeeds() {
+        long now = System.nanoTime();
+        feeds.values().removeIf(feed -> now - feed.expiresAt() >= 0);
+    }
+
+    private List<Integer> rank(User user) {
+        Set<Integer> bookmarked = user.getBookmarkedPosts()
+                .stream()
+                .map(Post::getId)
+                .collect(Collectors.toSet());
+        InterestProfile profile = profiles.computeIfAbsent(user.getId(), id -> profileOf(user));
+        if (profile.isEmpty()) {
+            return trendingService.getTrendingIds(null, MAX_FEED + bookmarked.size())
+                    .stream()
+                    .filter(id -> !bookmarked.contains(id))
+                    .limit(MAX_FEED)
+                    .toList();
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Double> tag : profile.topTags(MAX_TAGS)) {
+            accumulate(scores, recentIds(tagKey(tag.getKey())), tag.getValue(), bookmarked);
+        }
+        for (Map.Entry<String, Double> category : profile.topCategories(MAX_CATEGORIES)) {
+            accumulate(scores, recentIds(categoryKey(category.getKey())), category.getValue() * CATEGORY_FACTOR, bookmarked);
+        }
+        return scores.entrySet()
+                .stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .limit(MAX_FEED)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Newer posts of a term count more, the weight halves every 50 positions.
+     */
+    private static void accumulate(Map<Integer, Double> scores, List<Integer> ids, double weight, Set<Integer> excluded) {
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            if (!excluded.contains(id)) {
+                scores.merge(id, weight * Math.pow(0.5, i / 50.0), Double::sum);
+            }
+        }
+    }
+
+    private List<Integer> recentIds(String key) {
+        List<Integer> ids = recentIds.get(key);
+        if (ids != null) {
+            return ids;
+        }
+        String term = key.substring(2);
+        ids = key.startsWith("t:")
+                ? postRepository.findRecentIdsByTag(term, PageRequest.of(0, IDS_PER_TERM))
+                : postRepository.findRecentIdsByCategory(term, PageRequest.of(0, IDS_PER_TERM));
+        List<Integer> existing = recentIds.putIfAbsent(key, List.copyOf(ids));
+        return existing != null ? existing : ids;
+    }
+
+    private static InterestProfile profileOf(User user) {
+        InterestProfile profile = new InterestProfile();
+        for (Post post : user.getBookmarkedPosts()) {
+            profile.add(tagNames(post), normalizeCategory(post));
+        }
+        return profile;
+    }
+
+    private static List<Integer> prepend(List<Integer> ids, Integer id) {
+        List<Integer> updated = new ArrayList<>(Math.min(ids.size() + 1, IDS_PER_TERM));
+        updated.add(id);
+        updated.addAll(ids.size() < IDS_PER_TERM ? ids : ids.subList(0, IDS_PER_TERM - 1));
+        return List.copyOf(updated);
+    }
+
+    private static Set<String> termKeys(Post post) {
+        Set<String> keys = new HashSet<>();
+        tagNames(post).forEach(tag -> keys.add(tagKey(tag)));
+        String category = normalizeCategory(post);
+        if (category != null) {
+            keys.add(categoryKey(category));
+        }
+        return keys;
+    }
+
+    private static List<String> tagNames(Post post) {
+        if (post.getTags() == null) {
+            return List.of();
+        }
+        return post.getTags().stream().map(Tag::getName).map(FeedService::normalize).distinct().toList();
+    }
+
+    private static String normalizeCategory(Post post) {
+        return post.getCategory() != null && !post.getCategory().isBlank() ? normalize(post.getCategory()) : null;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String tagKey(String tag) {
+        return "t:" + tag;
+    }
+
+    private static String categoryKey(String category) {
+        return "c:" + category;
+    }
+}
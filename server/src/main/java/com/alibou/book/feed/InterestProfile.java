@@ -0,0 +1,73 @@
+package com.alibou.book.feed;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decayed tag and category weights of one user, capped at {@value #MAX_TERMS} terms each so a
+ * profile stays a few KB no matter how much the user bookmarks.
+ */
+class InterestProfile {
+
+    static final int MAX_TERMS = 32;
+
+    /**
+     * Applied to all weights on every bookmark, older interests fade out.
+     */
+    private static final double DECAY = 0.95;
+
+    private final Map<String, Double> tags = new HashMap<>();
+    private final Map<String, Double> categories = new HashMap<>();
+
+    synchronized void add(List<String> postTags, String category) {
+        decay(tags);
+        decay(categories);
+        for (String tag : postTags) {
+            tags.merge(tag, 1.0, Double::sum);
+        }
+        if (category != null) {
+            categories.merge(category, 1.0, Double::sum);
+        }
+        trim(tags);
+        trim(categories);
+    }
+
+    synchronized boolean isEmpty() {
+        return tags.isEmpty() && categories.isEmpty();
+    }
+
+    synchronized List<Map.Entry<String, Double>> topTags(int limit) {
+        return top(tags, limit);
+    }
+
+    synchronized List<Map.Entry<String, Double>> topCategories(int limit) {
+        return top(categories, limit);
+    }
+
+    private static void decay(Map<String, Double> weights) {
+        weights.replaceAll((term, weight) -> weight * DECAY);
+    }
+
+    private static void trim(Map<String, Double> weights) {
+        while (weights.size() > MAX_TERMS) {
+            String weakest = null;
+            double min = Double.MAX_VALUE;
+            for (Map.Entry<String, Double> entry : weights.entrySet()) {
+                if (entry.getValue() < min) {
+                    min = entry.getValue();
+                    weakest = entry.getKey();
+                }
+            }
+            weights.remove(weakest);
+        }
+    }
+
+    private static List<Map.Entry<String, Double>> top(Map<String, Double> weights, int limit) {
+        List<Map.Entry<String, Double>> entries = new ArrayList<>();
+        weights.forEach((term, weight) -> entries.add(Map.entry(term, weight)));
+        entries.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        return entries.size() <= limit ? entries : entries.subList(0, limit);
+    }
+}
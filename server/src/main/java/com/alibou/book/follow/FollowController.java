@@ -0,0 +1,64 @@
+package com.alibou.book.follow;
+
+import com.alibou.book.post.PostResponse;
+import com.alibou.book.user.User;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("follow")
+@RequiredArgsConstructor
+@Tag(name = "Follow")
+public class FollowController {
+
+    private final FollowService followService;
+    private final TimelineService timelineService;
+
+    @PostMapping("follow-user/{id}")
+    public ResponseEntity<PostResponse> follow(@PathVariable Integer id) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return new ResponseEntity<>(new PostResponse(false, "Unauthorized", null),
+                    HttpStatus.UNAUTHORIZED
+            );
+        }
+        return followService.follow(id, currentUser);
+    }
+
+    @PostMapping("unfollow-user/{id}")
+    public ResponseEntity<PostResponse> unfollow(@PathVariable Integer id) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return new ResponseEntity<>(new PostResponse(false, "Unauthorized", null),
+                    HttpStatus.UNAUTHORIZED
+            );
+        }
+        return followService.unfollow(id, currentUser);
+    }
+
+    /**
+     * Pass the id of the last post received as {@code before} to get the next page.
+     */
+    @GetMapping("get-timeline")
+    public ResponseEntity<PostResponse> getTimeline(
+            @RequestParam(required = false) Integer before,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return new ResponseEntity<>(new PostResponse(false, "Unauthorized", null),
+                    HttpStatus.UNAUTHORIZED
+            );
+        }
+        return timelineService.getTimeline(currentUser, before, Math.max(1, Math.min(limit, TimelineService.MAX_PAGE)));
+    }
+}
@@ -0,0 +1,12 @@
+package com.alibou.book.follow;
+
+/**
+ * Published when a user starts or stops following another one, {@code remote} when the change
+ * was made on another node.
+ */
+public record FollowEvent(Integer followerId, Integer followeeId, boolean followed, boolean remote) {
+
+    public FollowEvent(Integer followerId, Integer followeeId, boolean followed) {
+        this(followerId, followeeId, followed, false);
+    }
+}
@@ -0,0 +1,28 @@
+package com.alibou.book.follow;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface FollowRepository extends JpaRepository<Follow, Integer> {
+
+    boolean existsByFollowerIdAndFolloweeId(Integer followerId, Integer followeeId);
+
+    long countByFolloweeId(Integer followeeId);
+
+    @Modifying
+    @Query("DELETE FROM Follow f WHERE f.follower.id = :followerId AND f.followee.id = :followeeId")
+    int deleteByFollowerIdAndFolloweeId(@Param("followerId") Integer followerId, @Param("followeeId") Integer followeeId);
+
+    @Query("SELECT f.follower.id FROM Follow f WHERE f.followee.id = :followeeId")
+    List<Integer> findFollowerIds(@Param("followeeId") Integer followeeId);
+
+    @Query("SELECT f.followee.id FROM Follow f WHERE f.follower.id = :followerId")
+    List<Integer> findFolloweeIds(@Param("followerId") Integer followerId);
+
+    @Query("SELECT f.followee.id FROM Follow f GROUP BY f.followee.id HAVING COUNT(f) >= :minFollowers")
+    List<Integer> findFolloweeIdsWithFollowers(@Param("minFollowers") long minFollowers);
+}
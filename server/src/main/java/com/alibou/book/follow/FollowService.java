@@ -0,0 +1,105 @@
+package com.alibou.book.follow;
+
+import com.alibou.book.post.PostResponse;
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class FollowService {
+
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public ResponseEntity<PostResponse> follow(Integer userId, User user) {
+        try {
+            if (userId.equals(user.getId())) {
+                return new ResponseEntity<>(
+                        PostResponse.builder()
+                                .success(false)
+                                .message("You cannot follow yourself")
+                                .content(null)
+                                .build(),
+                        HttpStatus.BAD_REQUEST
+                );
+            }
+            var followee = userRepository.findById(userId).orElse(null);
+            if (followee == null) {
+                return new ResponseEntity<>(
+                        PostResponse.builder()
+                                .success(false)
+                                .message("No user found with id: " + userId)
+                                .content(null)
+                                .build(),
+                        HttpStatus.NOT_FOUND
+                );
+            }
+            if (!followRepository.existsByFollowerIdAndFolloweeId(user.getId(), userId)) {
+                followRepository.save(Follow.builder()
+                        .follower(user)
+                        .followee(followee)
+                        .build());
+                eventPublisher.publishEvent(new FollowEvent(user.getId(), userId, true));
+            }
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(true)
+                            .message("User followed successfully")
+                            .content(null)
+                            .build(),
+                    HttpStatus.CREATED
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Error following user: " + e.getMessage())
+                            .content(null)
+                            .build(),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    @Transactional
+    public ResponseEntity<PostResponse> unfollow(Integer userId, User user) {
+        try {
+            if (followRepository.deleteByFollowerIdAndFolloweeId(user.getId(), userId) == 0) {
+                return new ResponseEntity<>(
+                        PostResponse.builder()
+                                .success(false)
+                                .message("You are not following user with id: " + userId)
+                                .content(null)
+                                .build(),
+                        HttpStatus.NOT_FOUND
+                );
+            }
+            eventPublisher.publishEvent(new FollowEvent(user.getId(), userId, false));
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(true)
+                            .message("User unfollowed successfully")
+                            .content(null)
+                            .build(),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Error unfollowing user: " + e.getMessage())
+                            .content(null)
+                            .build(),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+}
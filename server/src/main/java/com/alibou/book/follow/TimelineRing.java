@@ -0,0 +1,100 @@
+package com.alibou.book.follow;
+
+import java.util.List;
+
+/**
+ * Bounded ring of the newest post ids of one timeline; once full the oldest id is overwritten.
+ * Ids are kept in ascending order so a page can be cut with a binary search.
+ */
+final class TimelineRing {
+
+    private final int[] ids;
+    private int start;
+    private int size;
+    /**
+     * Older ids than the ones held may exist.
+     */
+    private boolean truncated;
+    private boolean ready;
+
+    TimelineRing(int capacity) {
+        this.ids = new int[capacity];
+    }
+
+    synchronized void add(int id) {
+        int pos = search(id);
+        if (pos >= 0) {
+            return;
+        }
+        pos = -pos - 1;
+        if (size == ids.length) {
+            truncated = true;
+            if (pos == 0) {
+                return;
+            }
+            start = (start + 1) % ids.length;
+            size--;
+            pos--;
+        }
+        // posts usually arrive in id order, so this loop rarely runs
+        for (int i = size; i > pos; i--) {
+            ids[index(i)] = ids[index(i - 1)];
+        }
+        ids[index(pos)] = id;
+        size++;
+    }
+
+    /**
+     * Fills the ring from the database, {@code newestFirst} as returned by the query. Ids pushed
+     * while the query ran are kept.
+     */
+    synchronized void load(List<Integer> newestFirst, boolean more) {
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            add(newestFirst.get(i));
+        }
+        truncated |= more;
+        ready = true;
+    }
+
+    synchronized boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds up to {@code limit} ids lower than {@code beforeId} to {@code out}, newest first.
+     * Returns 0 if nothing is missing below them, otherwise the oldest id the ring can vouch for.
+     */
+    synchronized int page(int beforeId, int limit, List<Integer> out) {
+        if (!ready) {
+            return Integer.MAX_VALUE;
+        }
+        int pos = search(beforeId);
+        int i = (pos >= 0 ? pos : -pos - 1) - 1;
+        int taken = 0;
+        for (; i >= 0 && taken < limit; i--, taken++) {
+            out.add(ids[index(i)]);
+        }
+        return taken == limit || !truncated || size == 0 ? 0 : ids[start];
+    }
+
+    private int search(int id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = ids[index(mid)];
+            if (value < id) {
+                low = mid + 1;
+            } else if (value > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int index(int i) {
+        return (start + i) % ids.length;
+    }
+}
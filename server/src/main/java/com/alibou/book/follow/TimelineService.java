@@ -0,0 +1,279 @@
+package com.alibou.book.follow;
+
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostResponse;
+import com.alibou.book.post.PostService;
+import com.alibou.book.post.PostSummary;
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "Following" timelines.
+ * <p>
+ * New posts are pushed into an in-memory ring of the newest post ids of every follower whose
+ * timeline is loaded (fan-out on write). Authors with at least
+ * {@code application.timeline.fan-out-limit} followers are not pushed; their own recent ids are
+ * kept once and merged in when a follower reads (fan-out on read). Timelines are loaded lazily
+ * from the database and evicted least recently used, so a page costs O(page size) plus the few
+ * such authors the user follows, independent of the total number of followed authors.
+ */
+@Slf4j
+@Service
+public class TimelineService {
+
+    static final int MAX_PAGE = 50;
+
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final int capacity;
+    private final long fanOutLimit;
+
+    private final Map<Integer, Timeline> timelines;
+    private final Map<Integer, TimelineRing> authorPosts = new ConcurrentHashMap<>();
+    private volatile Set<Integer> popularAuthors = Set.of();
+
+    private static final class Timeline {
+        final TimelineRing ring;
+        volatile List<Integer> authors = List.of();
+        volatile List<Integer> popularAuthors = List.of();
+
+        Timeline(int capacity) {
+            this.ring = new TimelineRing(capacity);
+        }
+    }
+
+    public TimelineService(
+            FollowRepository followRepository,
+            PostRepository postRepository,
+            PostService postService,
+            @Value("${application.timeline.capacity:500}") int capacity,
+            @Value("${application.timeline.max-cached:10000}") int maxCached,
+            @Value("${application.timeline.fan-out-limit:10000}") long fanOutLimit
+    ) {
+        this.followRepository = followRepository;
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.capacity = capacity;
+        this.fanOutLimit = fanOutLimit;
+        this.timelines = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Timeline> eldest) {
+                return size() > maxCached;
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<PostResponse> getTimeline(User user, Integer beforeId, int limit) {
+        try {
+            List<Integer> ids = getTimelineIds(user.getId(), beforeId != null ? beforeId : Integer.MAX_VALUE, limit);
+            if (ids.isEmpty()) {
+                return new ResponseEntity<>(
+                        PostResponse.builder()
+                                .success(false)
+                                .message("No posts found")
+                                .content(null)
+                                .build(),
+                        HttpStatus.NOT_FOUND
+                );
+            }
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(true)
+                            .message("Timeline fetched successfully")
+                            .content(PostSummary.fromAll(postService.findAllInOrder(ids)))
+                            .build(),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Error fetching timeline: " + e.getMessage())
+                            .content(null)
+                            .build(),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    /**
+     * Post ids lower than {@code beforeId}, newest first. Pages the rings cannot fully answer,
+     * e.g. beyond their capacity, are read from the database.
+     */
+    public List<Integer> getTimelineIds(Integer userId, int beforeId, int limit) {
+        Timeline timeline = timeline(userId);
+        List<Integer> popular = timeline.popularAuthors;
+        List<Integer> candidates = new ArrayList<>(limit * (1 + popular.size()));
+        int floor = timeline.ring.page(beforeId, limit, candidates);
+        for (Integer author : popular) {
+            floor = Math.max(floor, authorPosts(author).page(beforeId, limit, candidates));
+        }
+        candidates.sort(Comparator.reverseOrder());
+
+        List<Integer> page = new ArrayList<>(limit);
+        int previous = -1;
+        for (int id : candidates) {
+            if (id < floor || page.size() == limit) {
+                break;
+            }
+            if (id != previous) {
+                page.add(id);
+                previous = id;
+            }
+        }
+        if (page.size() < limit && floor > 0) {
+            List<Integer> authors = timeline.ring.isReady() ? timeline.authors : authorsOf(userId);
+            return postRepository.findRecentIdsByAuthors(authors, beforeId, PageRequest.of(0, limit));
+        }
+        return page;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        if (event.type() != PostEvent.Type.CREATED || event.post().getAuthor() == null) {
+            return;
+        }
+        Post post = event.post();
+        Integer authorId = post.getAuthor().getId();
+        if (popularAuthors.contains(authorId)) {
+            TimelineRing ring = authorPosts.get(authorId);
+            if (ring != null) {
+                ring.add(post.getId());
+            }
+            return;
+        }
+        Timeline own = timelines.get(authorId);
+        if (own != null) {
+            own.ring.add(post.getId());
+        }
+        if (timelines.isEmpty()) {
+            return;
+        }
+        for (Integer followerId : followRepository.findFollowerIds(authorId)) {
+            Timeline timeline = timelines.get(followerId);
+            if (timeline != null) {
+                timeline.ring.add(post.getId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowEvent(FollowEvent event) {
+        // rebuilt from the database on the next read
+        timelines.remove(event.followerId());
+        boolean popular = followRepository.countByFolloweeId(event.followeeId()) >= fanOutLimit;
+        if (popular != popularAuthors.contains(event.followeeId())) {
+            Set<Integer> updated = new HashSet<>(popularAuthors);
+            if (popular) {
+                updated.add(event.followeeId());
+            } else {
+                updated.remove(event.followeeId());
+            }
+            setPopularAuthors(updated);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        timelines.remove(event.userId());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelay = 600_000)
+    public void reloadPopularAuthors() {
+        Set<Integer> loaded = Set.copyOf(followRepository.findFolloweeIdsWithFollowers(fanOutLimit));
+        if (!loaded.equals(popularAuthors)) {
+            setPopularAuthors(loaded);
+        }
+    }
+
+    /**
+     * Which authors are pushed and which are pulled is decided when a timeline is loaded, so all
+     * loaded timelines are dropped when that changes.
+     */
+    private void setPopularAuthors(Set<Integer> authors) {
+        popularAuthors = Set.copyOf(authors);
+        authorPosts.keySet().retainAll(authors);
+        timelines.clear();
+        log.debug("{} authors are now read on demand", authors.size());
+    }
+
+    private Timeline timeline(Integer userId) {
+        Timeline timeline = timelines.get(userId);
+        if (timeline != null) {
+            return timeline;
+        }
+        Timeline fresh = new Timeline(capacity);
+        timeline = timelines.putIfAbsent(userId, fresh);
+        if (timeline != null) {
+            return timeline;
+        }
+        // registered before loading, so posts created meanwhile are pushed into it
+        try {
+            List<Integer> authors = authorsOf(userId);
+            Set<Integer> popular = popularAuthors;
+            List<Integer> pushed = authors.stream().filter(id -> !popular.contains(id)).toList();
+            List<Integer> ids = pushed.isEmpty()
+                    ? List.of()
+                    : postRepository.findRecentIdsByAuthors(pushed, Integer.MAX_VALUE, PageRequest.of(0, capacity));
+            fresh.authors = authors;
+            fresh.popularAuthors = authors.stream().filter(popular::contains).toList();
+            fresh.ring.load(ids, ids.size() == capacity);
+        } catch (RuntimeException e) {
+            timelines.remove(userId, fresh);
+            throw e;
+        }
+        return fresh;
+    }
+
+    private TimelineRing authorPosts(Integer authorId) {
+        TimelineRing ring = authorPosts.get(authorId);
+        if (ring != null) {
+            return ring;
+        }
+        TimelineRing fresh = new TimelineRing(capacity);
+        ring = authorPosts.putIfAbsent(authorId, fresh);
+        if (ring != null) {
+            return ring;
+        }
+        try {
+            List<Integer> ids = postRepository.findRecentIdsByAuthors(List.of(authorId), Integer.MAX_VALUE, PageRequest.of(0, capacity));
+            fresh.load(ids, ids.size() == capacity);
+        } catch (RuntimeException e) {
+            authorPosts.remove(authorId, fresh);
+            throw e;
+        }
+        return fresh;
+    }
+
+    /**
+     * Followed authors plus the user, who sees their own posts too.
+     */
+    private List<Integer> authorsOf(Integer userId) {
+        List<Integer> authors = new ArrayList<>(followRepository.findFolloweeIds(userId));
+        authors.add(userId);
+        return authors;
+    }
+}
@@ -0,0 +1,177 @@
+package com.alibou.book.image;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("image")
+@RequiredArgsConstructor
+@Tag(name = "Image")
+public class ImageController {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    // a variant that is still being generated must not be cached as if it was final
+    private static final String PENDING = "public, max-age=60";
+
+    private final ImageStorage imageStorage;
+
+    @PostMapping("upload")
+    public ResponseEntity<ImageUploadResponse> upload(@RequestParam("file") MultipartFile file) {
+        try {
+            String hash = imageStorage.store(file);
+            String base = ServletUriComponentsBuilder.fromCurrentContextPath().path("/image/" + hash + "/").toUriString();
+            return new ResponseEntity<>(
+                    ImageUploadResponse.builder()
+                            .success(true)
+                            .message("Image uploaded successfully")
+                            .originalUrl(base + ImageVariant.ORIGINAL.path())
+                            .feedUrl(base + ImageVariant.FEED.path())
+                            .thumbnailUrl(base + ImageVariant.THUMB.path())
+                            .build(),
+                    HttpStatus.CREATED
+            );
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(
+                    ImageUploadResponse.builder()
+                            .success(false)
+                            .message(e.getMessage())
+                            .build(),
+                    HttpStatus.BAD_REQUEST
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    ImageUploadResponse.builder()
+                            .success(false)
+                            .message("Error uploading image: " + e.getMessage())
+                            .build(),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    /**
+     * Streams the file without copying it through the heap: Tomcat's sendfile when the connector
+     * supports it, {@link FileChannel#transferTo} otherwise. Single byte ranges are honoured.
+     */
+    @GetMapping("{hash}/{variant}")
+    public void serve(@PathVariable String hash,
+                      @PathVariable String variant,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        ImageVariant imageVariant = ImageVariant.fromPath(variant);
+        if (!HASH.matcher(hash).matches() || imageVariant == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        Path file = imageStorage.resolve(hash, imageVariant);
+        if (file == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        boolean isFinal = file.getFileName().toString().startsWith(imageVariant.path() + ".");
+        String etag = "\"" + hash + "-" + file.getFileName() + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, isFinal ? IMMUTABLE : PENDING);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .map(Object::toString)
+                .orElse("application/octet-stream"));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            long end = size - 1;
+            ByteRange range = parseRange(request.getHeader(HttpHeaders.RANGE), size);
+            if (range != null) {
+                if (!range.satisfiable(size)) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                start = range.start();
+                end = range.end();
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+            long length = end - start + 1;
+            response.setContentLengthLong(length);
+
+            if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+                request.setAttribute("org.apache.tomcat.sendfile.filename", file.toString());
+                request.setAttribute("org.apache.tomcat.sendfile.start", start);
+                request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+
+    /**
+     * The single byte range of a {@code Range} header, or {@code null} when there is none to
+     * honour and the whole file is sent. The end is clamped to the file, numbers too large for
+     * a long count as "beyond the end".
+     */
+    static ByteRange parseRange(String header, long size) {
+        if (header == null) {
+            return null;
+        }
+        Matcher matcher = RANGE.matcher(header);
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        if (matcher.group(1).isEmpty()) {
+            return new ByteRange(Math.max(0, size - number(matcher.group(2))), size - 1);
+        }
+        long end = matcher.group(2).isEmpty() ? size - 1 : Math.min(size - 1, number(matcher.group(2)));
+        return new ByteRange(number(matcher.group(1)), end);
+    }
+
+    private static long number(String digits) {
+        try {
+            return Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    record ByteRange(long start, long end) {
+
+        boolean satisfiable(long size) {
+            return start <= end && start < size;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.alibou.book.image;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores uploaded images on local disk under the SHA-256 of their bytes, so the same image is
+ * only kept once and every stored file can be cached forever. Scaled variants are generated on
+ * a small bounded pool; until one exists the original is served in its place. Variants wider
+ * than the upload are links to the original.
+ */
+@Slf4j
+@Service
+public class ImageStorage {
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "jpeg", "jpg",
+            "png", "png",
+            "gif", "gif"
+    );
+    private static final long MAX_PIXELS = 50_000_000L;
+
+    private final Path root;
+    private final ThreadPoolExecutor workers;
+
+    public ImageStorage(
+            @Value("${application.image.dir:uploads/images}") String dir,
+            @Value("${application.image.workers:2}") int workers,
+            @Value("${application.image.queue:256}") int queue
+    ) throws IOException {
+        this.root = Files.createDirectories(Path.of(dir)).toAbsolutePath();
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Returns the hash the image is stored under.
+     */
+    public String store(MultipartFile file) throws IOException {
+        Path upload = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String format = detectFormat(upload);
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path dir = Files.createDirectories(root.resolve(hash));
+            Path original = dir.resolve(ImageVariant.ORIGINAL.path() + "." + EXTENSIONS.get(format));
+            if (Files.notExists(original)) {
+                Files.move(upload, original, StandardCopyOption.ATOMIC_MOVE);
+                scheduleVariants(original, format);
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * The stored file of a variant, or the original while the variant is not generated yet.
+     * {@code null} if the image is unknown.
+     */
+    public Path resolve(String hash, ImageVariant variant) {
+        Path dir = root.resolve(hash);
+        Path original = null;
+        for (String extension : EXTENSIONS.values()) {
+            Path file = dir.resolve(variant.path() + "." + extension);
+            if (Files.isRegularFile(file)) {
+                return file;
+            }
+            Path candidate = dir.resolve(ImageVariant.ORIGINAL.path() + "." + extension);
+            if (original == null && Files.isRegularFile(candidate)) {
+                original = candidate;
+            }
+        }
+        return original;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void scheduleVariants(Path original, String format) {
+        try {
+            workers.execute(() -> generateVariants(original, format));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image queue full, serving {} without variants", original.getParent().getFileName());
+        }
+    }
+
+    private void generateVariants(Path original, String format) {
+        try {
+            BufferedImage image = ImageIO.read(original.toFile());
+            if (image == null) {
+                return;
+            }
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (variant == ImageVariant.ORIGINAL) {
+                    continue;
+                }
+                if (image.getWidth() <= variant.width) {
+                    linkOriginal(original, variant);
+                    continue;
+                }
+                // GIFs are written as PNG, ImageIO cannot write animated GIFs anyway
+                String outputFormat = "jpeg".equals(format) ? "jpeg" : "png";
+                Path target = original.resolveSibling(variant.path() + "." + EXTENSIONS.get(outputFormat));
+                Path tmp = Files.createTempFile(original.getParent(), variant.path(), ".tmp");
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    ImageIO.write(scale(image, variant.width, "jpeg".equals(outputFormat)), outputFormat, out);
+                }
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not generate variants for {}", original, e);
+        }
+    }
+
+    /**
+     * An image already narrower than the variant is its own variant. It is linked under the
+     * variant's name so {@link #resolve} finds a final file instead of falling back for ever.
+     */
+    private static void linkOriginal(Path original, ImageVariant variant) throws IOException {
+        String name = original.getFileName().toString();
+        Path target = original.resolveSibling(variant.path() + name.substring(name.lastIndexOf('.')));
+        try {
+            Files.createLink(target, original);
+        } catch (FileAlreadyExistsException e) {
+            // generated before
+        } catch (UnsupportedOperationException | IOException e) {
+            Path tmp = Files.createTempFile(original.getParent(), variant.path(), ".tmp");
+            Files.copy(original, tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, boolean opaque) {
+        int height = Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Reads only the header, so oversized images are rejected before they are decoded.
+     */
+    private static String detectFormat(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                if (!EXTENSIONS.containsKey(format)) {
+                    throw new IllegalArgumentException("Unsupported image format: " + format);
+                }
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new IllegalArgumentException("Image is too large");
+                }
+                return format;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
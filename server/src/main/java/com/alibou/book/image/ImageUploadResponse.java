@@ -0,0 +1,18 @@
+package com.alibou.book.image;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageUploadResponse {
+    private boolean success;
+    private String message;
+    private String originalUrl;
+    private String feedUrl;
+    private String thumbnailUrl;
+}
@@ -0,0 +1,46 @@
+package com.alibou.book.image;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public enum ImageVariant {
+    ORIGINAL(0),
+    FEED(960),
+    THUMB(320);
+
+    private static final Pattern OWN_URL = Pattern.compile("(.*/image/[0-9a-f]{64}/)(original|feed|thumb)$");
+
+    /**
+     * Maximum width, 0 keeps the uploaded size.
+     */
+    final int width;
+
+    ImageVariant(int width) {
+        this.width = width;
+    }
+
+    String path() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static ImageVariant fromPath(String path) {
+        for (ImageVariant variant : values()) {
+            if (variant.path().equals(path)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Points an uploaded image url at another variant, urls of other hosts are returned as they are.
+     */
+    public static String rewrite(String imageUrl, ImageVariant variant) {
+        if (imageUrl == null) {
+            return null;
+        }
+        Matcher matcher = OWN_URL.matcher(imageUrl);
+        return matcher.matches() ? matcher.group(1) + variant.path() : imageUrl;
+    }
+}
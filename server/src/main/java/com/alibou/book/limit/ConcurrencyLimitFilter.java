@@ -0,0 +1,179 @@
+package com.alibou.book.limit;
+
+import com.alibou.book.post.PostResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load before it reaches authentication and the database. Every endpoint group (the first
+ * path segment) has its own {@link ConcurrencyLimiter}, so a slow group fills up and rejects
+ * while cheap groups keep answering. Rejected requests get 503 with Retry-After right away
+ * instead of waiting for a Tomcat thread or a connection.
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String OTHER = "other";
+
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final Map<String, ConcurrencyLimiter> limiters = new LinkedHashMap<>();
+    private final Map<String, LimiterStats> lastReported = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(ObjectMapper objectMapper,
+                                  @Value("${application.limit.enabled:true}") boolean enabled,
+                                  @Value("${application.limit.groups:auth,post,feed,follow,author,trending,suggest,related,view,image,live,cache,limit,read,syndication,facet}") List<String> groups,
+                                  @Value("${application.limit.initial-limit:20}") int initialLimit,
+                                  @Value("${application.limit.min-limit:4}") int minLimit,
+                                  @Value("${application.limit.max-limit:200}") int maxLimit,
+                                  @Value("${application.limit.read-reserve:0.2}") double readReserve,
+                                  @Value("${application.limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        for (String group : groups) {
+            limiters.put(group, new ConcurrencyLimiter(group, initialLimit, minLimit, maxLimit, readReserve));
+        }
+        limiters.put(OTHER, new ConcurrencyLimiter(OTHER, initialLimit, minLimit, maxLimit, readReserve));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ConcurrencyLimiter limiter = limiters.getOrDefault(group(request.getServletPath()), limiters.get(OTHER));
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        int inFlight = limiter.tryAcquire(read);
+        if (inFlight < 0) {
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean released = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted() && !isEventStream(response)) {
+                // async reads hold their slot until the response is written
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limiter, start, inFlight));
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                // streams (SSE) live far longer than their thread, they free the slot but are no sample
+                limiter.release(request.isAsyncStarted() ? -1 : System.nanoTime() - start, inFlight);
+            }
+        }
+    }
+
+    public List<LimiterStats> stats() {
+        return limiters.values().stream().map(ConcurrencyLimiter::stats).toList();
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.limit.report-ms:60000}",
+            fixedDelayString = "${application.limit.report-ms:60000}"
+    )
+    public void report() {
+        for (LimiterStats current : stats()) {
+            LimiterStats previous = lastReported.put(current.group(), current);
+            LimiterStats window = previous != null ? current.since(previous) : current;
+            if (window.rejectedReads() + window.rejectedWrites() > 0) {
+                log.info("Concurrency limit {}: limit {}, {} accepted, {} reads and {} writes rejected, latency {} ms (long {} ms)",
+                        window.group(), window.limit(), window.accepted(), window.rejectedReads(),
+                        window.rejectedWrites(), String.format("%.1f", window.shortRttMs()),
+                        String.format("%.1f", window.longRttMs()));
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new PostResponse(false, "Server is busy, try again later", null));
+    }
+
+    private static boolean isEventStream(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    static String group(String servletPath) {
+        int start = servletPath.startsWith("/") ? 1 : 0;
+        int end = servletPath.indexOf('/', start);
+        return end < 0 ? servletPath.substring(start) : servletPath.substring(start, end);
+    }
+
+    /**
+     * Releases the slot of an async request once, when it completes, times out or fails.
+     */
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final ConcurrencyLimiter limiter;
+        private final long start;
+        private final int inFlight;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        ReleaseOnCompletion(ConcurrencyLimiter limiter, long start, int inFlight) {
+            this.limiter = limiter;
+            this.start = start;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // a timeout says nothing about the latency of this group, only free the slot
+            release(-1);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(-1);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release(long rttNanos) {
+            if (done.compareAndSet(false, true)) {
+                limiter.release(rttNanos, inFlight);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.alibou.book.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit of one endpoint group, adapted to the latency it measures.
+ * <p>
+ * Gradient algorithm: a short average of recent latencies is compared with a long average that
+ * stands for the latency without queueing. While they agree the limit grows by about the square
+ * root of itself, once requests get slower than {@code TOLERANCE} times the long average the
+ * limit shrinks by the ratio, at most by half per sample. Samples taken while less than half the
+ * limit was in use say nothing about the limit and only update the averages.
+ * <p>
+ * Writes may only use the part of the limit not reserved for reads, so under pressure they are
+ * shed first and reads keep getting through.
+ */
+public class ConcurrencyLimiter {
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final String group;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double readReserve;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejectedReads = new LongAdder();
+    private final LongAdder rejectedWrites = new LongAdder();
+
+    public ConcurrencyLimiter(String group, int initialLimit, int minLimit, int maxLimit, double readReserve) {
+        this.group = group;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.readReserve = readReserve;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Takes a slot and returns the number of requests in flight including this one, or -1 when
+     * the group is at its limit for this kind of request.
+     */
+    public int tryAcquire(boolean read) {
+        int current = limit;
+        int allowed = read ? current : Math.max(1, (int) (current * (1 - readReserve)));
+        while (true) {
+            int running = inFlight.get();
+            if (running >= allowed) {
+                (read ? rejectedReads : rejectedWrites).increment();
+                return -1;
+            }
+            if (inFlight.compareAndSet(running, running + 1)) {
+                accepted.increment();
+                return running + 1;
+            }
+        }
+    }
+
+    /**
+     * Frees a slot taken by {@link #tryAcquire}. {@code rttNanos} is the latency of the request,
+     * negative when it is no sample, {@code inFlightAtStart} what {@link #tryAcquire} returned.
+     */
+    public void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        if (rttNanos >= 0) {
+            onSample(rttNanos, inFlightAtStart);
+        }
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (shortRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) * SHORT_ALPHA;
+            longRttNanos += (rttNanos - longRttNanos) * LONG_ALPHA;
+        }
+        // the long average lags behind a lasting drop in latency, let it catch up
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / Math.max(1, shortRttNanos)));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public synchronized LimiterStats stats() {
+        return new LimiterStats(group, limit, inFlight.get(), accepted.sum(), rejectedReads.sum(),
+                rejectedWrites.sum(), shortRttNanos / 1_000_000, longRttNanos / 1_000_000);
+    }
+}
@@ -0,0 +1,33 @@
+package com.alibou.book.limit;
+
+import com.alibou.book.post.PostResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("limit")
+@RequiredArgsConstructor
+@Tag(name = "Limit")
+public class LimitController {
+
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @GetMapping("get-limiter-stats")
+    public ResponseEntity<PostResponse> getLimiterStats() {
+        return new ResponseEntity<>(
+                PostResponse.builder()
+                        .success(true)
+                        .message("Limiter stats fetched successfully")
+                        .content(List.copyOf(concurrencyLimitFilter.stats()))
+                        .build(),
+                HttpStatus.OK
+        );
+    }
+}
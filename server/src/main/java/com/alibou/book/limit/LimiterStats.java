@@ -0,0 +1,15 @@
+package com.alibou.book.limit;
+
+/**
+ * State of one {@link ConcurrencyLimiter}, counters are totals since startup and latencies the
+ * current short and long averages in milliseconds.
+ */
+public record LimiterStats(String group, int limit, int inFlight, long accepted, long rejectedReads,
+                           long rejectedWrites, double shortRttMs, double longRttMs) {
+
+    LimiterStats since(LimiterStats previous) {
+        return new LimiterStats(group, limit, inFlight, accepted - previous.accepted,
+                rejectedReads - previous.rejectedReads, rejectedWrites - previous.rejectedWrites,
+                shortRttMs, longRttMs);
+    }
+}
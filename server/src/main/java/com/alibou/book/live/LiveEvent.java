@@ -0,0 +1,15 @@
+package com.alibou.book.live;
+
+import java.util.List;
+
+/**
+ * One entry of the {@link LiveEventHub} ring buffer. {@code category} and {@code tags} are
+ * normalized for filtering, {@code payload} is the JSON subscribers receive.
+ */
+record LiveEvent(long id, String type, String category, List<String> tags, String payload) {
+
+    boolean matches(String categoryFilter, String tagFilter) {
+        return (categoryFilter == null || categoryFilter.equals(category))
+                && (tagFilter == null || tags.contains(tagFilter));
+    }
+}
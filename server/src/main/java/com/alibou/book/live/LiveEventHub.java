@@ -0,0 +1,338 @@
+package com.alibou.book.live;
+
+import com.alibou.book.comment.Tag;
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans new posts out to all Server-Sent Events subscribers.
+ * <p>
+ * Events are serialized once and written into a ring buffer, every subscriber only keeps a cursor
+ * into it, so publishing is O(1) no matter how many clients listen. Connections are async servlet
+ * requests and hold no thread; a small pool drains the subscribers that have something to send.
+ * A subscriber that falls more than {@code application.live.max-lag} events behind is handled by
+ * the configured {@link SlowConsumerPolicy}. Clients reconnecting with {@code Last-Event-ID}
+ * continue where they left off as long as that event is still in the buffer.
+ * <p>
+ * A write blocks while the client does not read. A subscriber whose send has been blocked for
+ * {@code application.live.send-timeout-ms} is disconnected whatever the policy, there is no way
+ * to drop events from a write in progress, and the pool gets an extra sender until the blocked
+ * one returns so the other subscribers keep flowing.
+ */
+@Slf4j
+@Component
+public class LiveEventHub {
+
+    public enum SlowConsumerPolicy {
+        /**
+         * Skip the oldest events and tell the client how many it missed.
+         */
+        DROP,
+        /**
+         * Skip the whole backlog and send one "refresh" event instead.
+         */
+        COALESCE,
+        /**
+         * Close the stream, the client resumes with Last-Event-ID.
+         */
+        DISCONNECT
+    }
+
+    private static final long EMITTER_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final long EVICTED = -1;
+
+    private final ObjectMapper objectMapper;
+    private final LiveEvent[] ring;
+    private final int maxLag;
+    private final SlowConsumerPolicy policy;
+    private final int senderCount;
+    private final long sendTimeoutMillis;
+    private final ThreadPoolExecutor senders;
+    private final AtomicInteger blockedSenders = new AtomicInteger();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Id of the next event, ids start at 1.
+     */
+    private volatile long head = 1;
+
+    public LiveEventHub(
+            ObjectMapper objectMapper,
+            @Value("${application.live.buffer-size:4096}") int bufferSize,
+            @Value("${application.live.max-lag:1024}") int maxLag,
+            @Value("${application.live.slow-consumer-policy:DROP}") SlowConsumerPolicy policy,
+            @Value("${application.live.senders:4}") int senders,
+            @Value("${application.live.send-timeout-ms:10000}") long sendTimeoutMillis
+    ) {
+        this.objectMapper = objectMapper;
+        this.ring = new LiveEvent[bufferSize];
+        this.maxLag = Math.min(maxLag, bufferSize);
+        this.policy = policy;
+        this.senderCount = senders;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        AtomicInteger counter = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senders, senders, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "live-sender-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public SseEmitter subscribe(String category, String tag, Long lastEventId) {
+        return subscribe(new SseEmitter(EMITTER_TIMEOUT_MS), category, tag, lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String category, String tag, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, normalize(category), normalize(tag));
+        synchronized (this) {
+            long oldest = Math.max(1, head - ring.length);
+            if (lastEventId == null) {
+                subscriber.cursor = head;
+            } else if (lastEventId + 1 >= oldest) {
+                subscriber.cursor = Math.min(lastEventId + 1, head);
+            } else {
+                subscriber.cursor = head;
+                subscriber.pending = Map.of("type", "reset");
+            }
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        if (event.type() != PostEvent.Type.CREATED) {
+            return;
+        }
+        Post post = event.post();
+        List<String> tags = post.getTags() == null
+                ? List.of()
+                : post.getTags().stream().map(Tag::getName).map(LiveEventHub::normalize).toList();
+        publish("post", normalize(post.getCategory()), tags, PostSummary.from(post));
+    }
+
+    public void publish(String type, String category, List<String> tags, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize live {} event", type, e);
+            return;
+        }
+        synchronized (this) {
+            ring[(int) (head % ring.length)] = new LiveEvent(head, type, category, tags, json);
+            head++;
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    @Scheduled(fixedDelay = 15_000)
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.heartbeat = true);
+        subscribers.forEach(this::schedule);
+    }
+
+    /**
+     * Disconnects subscribers whose current send has been blocked for too long.
+     */
+    @Scheduled(fixedDelay = 1_000)
+    public void evictBlocked() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince.get();
+            if (since > 0 && now - since > sendTimeoutMillis
+                    && subscriber.sendingSince.compareAndSet(since, EVICTED)) {
+                log.debug("Disconnecting subscriber blocked in a send for {} ms", now - since);
+                resizeSenders(blockedSenders.incrementAndGet());
+                disconnect(subscriber, new IOException("Send blocked for more than " + sendTimeoutMillis + " ms"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    int senderPoolSize() {
+        return senders.getCorePoolSize();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                long end;
+                long oldest;
+                synchronized (this) {
+                    end = head;
+                    oldest = Math.max(1, head - ring.length);
+                }
+                if (subscriber.pending != null) {
+                    send(subscriber, SseEmitter.event().name("control").data(subscriber.pending));
+                    subscriber.pending = null;
+                }
+                if (end - subscriber.cursor > maxLag || subscriber.cursor < oldest) {
+                    if (!handleLag(subscriber, end)) {
+                        return;
+                    }
+                }
+                if (subscriber.cursor >= end) {
+                    break;
+                }
+                for (; subscriber.cursor < end; subscriber.cursor++) {
+                    LiveEvent event = ring[(int) (subscriber.cursor % ring.length)];
+                    if (event != null && event.id() == subscriber.cursor
+                            && event.matches(subscriber.category, subscriber.tag)) {
+                        send(subscriber, SseEmitter.event()
+                                .id(Long.toString(event.id()))
+                                .name(event.type())
+                                .data(event.payload(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            }
+            if (subscriber.heartbeat) {
+                subscriber.heartbeat = false;
+                send(subscriber, SseEmitter.event().comment("ping"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            disconnect(subscriber, e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // something may have been published after the last check
+        if (subscriber.cursor < head && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Returns {@code false} when the subscriber was disconnected.
+     */
+    private boolean handleLag(Subscriber subscriber, long end) throws IOException {
+        long behind = end - subscriber.cursor;
+        switch (policy) {
+            case DROP -> {
+                long skipTo = end - maxLag;
+                send(subscriber, SseEmitter.event().name("control")
+                        .data(Map.of("type", "dropped", "count", skipTo - subscriber.cursor)));
+                subscriber.cursor = skipTo;
+            }
+            case COALESCE -> {
+                send(subscriber, SseEmitter.event().id(Long.toString(end - 1)).name("control")
+                        .data(Map.of("type", "refresh", "count", behind)));
+                subscriber.cursor = end;
+            }
+            case DISCONNECT -> {
+                log.debug("Disconnecting subscriber {} events behind", behind);
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendingSince.set(System.currentTimeMillis());
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            if (subscriber.sendingSince.getAndSet(0) == EVICTED) {
+                resizeSenders(blockedSenders.decrementAndGet());
+                throw new IOException("Subscriber was disconnected while the send was blocked");
+            }
+        }
+    }
+
+    private void disconnect(Subscriber subscriber, Throwable cause) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.emitter.completeWithError(cause);
+        }
+    }
+
+    /**
+     * Keeps {@code application.live.senders} threads free while {@code blocked} are stuck in a send.
+     */
+    private void resizeSenders(int blocked) {
+        synchronized (senders) {
+            int size = senderCount + Math.max(0, blocked);
+            if (size > senders.getMaximumPoolSize()) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final String category;
+        final String tag;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // start of the send in progress, 0 when idle, EVICTED once it was given up on
+        final AtomicLong sendingSince = new AtomicLong();
+        // only touched by the thread currently draining
+        long cursor;
+        volatile Object pending;
+        volatile boolean heartbeat;
+
+        Subscriber(SseEmitter emitter, String category, String tag) {
+            this.emitter = emitter;
+            this.category = category;
+            this.tag = tag;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.alibou.book.post;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.renderer.text.TextContentRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Renders the markdown of a post once at write time and derives excerpt, word count and read
+ * time from it, so reads never have to. Posts above {@code application.content.async-threshold}
+ * characters are saved first and rendered after the commit on a background thread, until then
+ * they carry an excerpt of their beginning and counts taken from the markdown.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentProcessor {
+
+    static final int EXCERPT_LENGTH = 200;
+    private static final int WORDS_PER_MINUTE = 200;
+
+    private final Parser parser = Parser.builder().build();
+    private final HtmlRenderer htmlRenderer = HtmlRenderer.builder()
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .build();
+    private final TextContentRenderer textRenderer = TextContentRenderer.builder().build();
+
+    private final PostRepository postRepository;
+
+    @Value("${application.content.async-threshold:20000}")
+    private int asyncThreshold;
+
+    /**
+     * Processes the post right away unless it is large, then rendering is left for
+     * {@link #onPostEvent}.
+     */
+    public void prepare(Post post) {
+        String content = post.getContent();
+        if (content.length() > asyncThreshold) {
+            post.getBody().setRenderedContent(null);
+            post.setExcerpt(excerpt(textRenderer.render(parser.parse(head(content)))));
+            // letters and digits only, markdown syntax is not counted
+            setCounts(post, countWords(content));
+        } else {
+            process(post);
+        }
+    }
+
+    public void process(Post post) {
+        Node document = parser.parse(post.getContent());
+        String text = textRenderer.render(document);
+        post.getBody().setRenderedContent(htmlRenderer.render(document));
+        post.setExcerpt(excerpt(text));
+        setCounts(post, countWords(text));
+    }
+
+    @Async
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        if (event.remote() || (event.type() != PostEvent.Type.CREATED && event.type() != PostEvent.Type.UPDATED)) {
+            return;
+        }
+        if (event.post().getRenderedContent() != null) {
+            return;
+        }
+        postRepository.findWithBodyById(event.post().getId()).ifPresent(post -> {
+            long start = System.currentTimeMillis();
+            process(post);
+            log.debug("Processed post {} ({} words) in {} ms", post.getId(), post.getWordCount(),
+                    System.currentTimeMillis() - start);
+        });
+    }
+
+    private static void setCounts(Post post, int words) {
+        post.setWordCount(words);
+        post.setReadTime(Math.max(1, (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE) + " min read");
+    }
+
+    /**
+     * Enough leading markdown for an excerpt, cut at a line break so no block is split.
+     */
+    static String head(String content) {
+        int limit = EXCERPT_LENGTH * 4;
+        if (content.length() <= limit) {
+            return content;
+        }
+        int cut = content.lastIndexOf('\n', limit);
+        return content.substring(0, cut > 0 ? cut : limit);
+    }
+
+    static int countWords(String text) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean letter = Character.isLetterOrDigit(text.charAt(i));
+            if (letter && !inWord) {
+                words++;
+            }
+            inWord = letter;
+        }
+        return words;
+    }
+
+    static String excerpt(String text) {
+        String flat = text.replaceAll("\\s+", " ").strip();
+        if (flat.length() <= EXCERPT_LENGTH) {
+            return flat;
+        }
+        int cut = flat.lastIndexOf(' ', EXCERPT_LENGTH);
+        return flat.substring(0, cut > 0 ? cut : EXCERPT_LENGTH) + "…";
+    }
+}
@@ -3,10 +3,12 @@ package com.alibou.book.post;
 import com.alibou.book.comment.Comment;
 import com.alibou.book.comment.Tag;
 import com.alibou.book.user.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDate;
@@ -20,8 +22,16 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "post")
+@Table(
+        name = "post",
+        indexes = {
+                @Index(name = "idx_post_category_key", columnList = "category_key, id"),
+                @Index(name = "idx_post_created_date", columnList = "created_date"),
+                @Index(name = "idx_post_author", columnList = "author_id, id")
+        }
+)
 @EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,13 +42,24 @@ public class Post {
 
     private String subtitle;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String content;
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, optional = false, orphanRemoval = true)
+    @JoinColumn(name = "body_id", nullable = false)
+    @JsonIgnore
+    private PostBody body;
+
+    // derived from the body, which may be processed after the post was saved
+    @OptimisticLock(excluded = true)
+    @Column(length = 300)
+    private String excerpt;
+
+    @OptimisticLock(excluded = true)
+    private int wordCount;
 
     @ManyToOne
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
+    @OptimisticLock(excluded = true)
     private String readTime;
 
     private String imageUrl;
@@ -47,17 +68,40 @@ public class Post {
 
     private String category;
 
+    /**
+     * Lower-cased category maintained by the database, case-insensitive filters compare against it.
+     */
+    @JsonIgnore
+    @Column(name = "category_key", insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as (lower(category))")
+    private String categoryKey;
+
+    // engagement counters never conflict with edits
+    @OptimisticLock(excluded = true)
     private int likes = 0;
 
+    @OptimisticLock(excluded = true)
     private int bookmarks = 0;
 
+    @OptimisticLock(excluded = true)
     private int shares = 0;
 
-    @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OptimisticLock(excluded = true)
+    private long views;
+
+    @OptimisticLock(excluded = true)
+    private long uniqueReaders;
+
+    // tags are shared between posts, removing a post must not remove them
+    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.EAGER)
     @JoinTable(
             name = "post_tags",
             joinColumns = @JoinColumn(name = "post_id"),
-            inverseJoinColumns = @JoinColumn(name = "tag_id")
+            inverseJoinColumns = @JoinColumn(name = "tag_id"),
+            indexes = {
+                    @Index(name = "idx_post_tags_tag", columnList = "tag_id, post_id"),
+                    @Index(name = "idx_post_tags_post", columnList = "post_id")
+            }
     )
     private List<Tag> tags = new ArrayList<>();
 
@@ -68,8 +112,29 @@ public class Post {
     @Column(nullable = false, updatable = false)
     private LocalDate createdDate;
 
-    @LastModifiedDate
+    /**
+     * Day of the last edit, set by {@link PostService#updatePost}. Engagement does not count.
+     */
+    @OptimisticLock(excluded = true)
     @Column(insertable = false)
     private LocalDate lastModifiedDate;
+
+    /**
+     * Incremented by every edit, an edit has to name the version it was made on.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Loads and decodes the body on first call, list views must not use it.
+     */
+    public String getContent() {
+        return body != null ? body.getContent() : null;
+    }
+
+    public String getRenderedContent() {
+        return body != null ? body.getRenderedContent() : null;
+    }
 }
 
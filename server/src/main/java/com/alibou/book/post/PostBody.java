@@ -0,0 +1,66 @@
+package com.alibou.book.post;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+
+/**
+ * Body of a {@link Post}, kept out of the post row so feeds, bookmarks and counter updates never
+ * read it. Stored through {@link PostBodyCodec} and decoded on first access only.
+ */
+@NoArgsConstructor
+@Entity
+@DynamicUpdate
+@Table(name = "post_body")
+public class PostBody {
+
+    @Id
+    @Getter
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Lob
+    @Column(name = "content", nullable = false, length = Integer.MAX_VALUE)
+    private byte[] contentData;
+
+    @Lob
+    @Column(name = "rendered_content", length = Integer.MAX_VALUE)
+    private byte[] renderedData;
+
+    @Transient
+    private String content;
+
+    @Transient
+    private String renderedContent;
+
+    public static PostBody of(String content) {
+        PostBody body = new PostBody();
+        body.setContent(content);
+        return body;
+    }
+
+    public String getContent() {
+        if (content == null) {
+            content = PostBodyCodec.decode(contentData);
+        }
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+        this.contentData = PostBodyCodec.encode(content);
+    }
+
+    public String getRenderedContent() {
+        if (renderedContent == null) {
+            renderedContent = PostBodyCodec.decode(renderedData);
+        }
+        return renderedContent;
+    }
+
+    public void setRenderedContent(String renderedContent) {
+        this.renderedContent = renderedContent;
+        this.renderedData = PostBodyCodec.encode(renderedContent);
+    }
+}
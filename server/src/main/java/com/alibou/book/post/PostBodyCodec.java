@@ -0,0 +1,94 @@
+package com.alibou.book.post;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes post bodies for storage. The first byte tells how the rest is stored: plain UTF-8 or,
+ * above {@value #COMPRESS_THRESHOLD} bytes, deflated UTF-8. Compression is only kept when it
+ * actually saves space.
+ */
+final class PostBodyCodec {
+
+    static final int COMPRESS_THRESHOLD = 1024;
+
+    private static final byte PLAIN = 0;
+    private static final byte DEFLATED = 1;
+
+    private PostBodyCodec() {
+    }
+
+    static byte[] encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > COMPRESS_THRESHOLD) {
+            byte[] deflated = deflate(utf8);
+            if (deflated.length < utf8.length) {
+                return withHeader(DEFLATED, deflated);
+            }
+        }
+        return withHeader(PLAIN, utf8);
+    }
+
+    static String decode(byte[] stored) {
+        if (stored == null || stored.length == 0) {
+            return null;
+        }
+        byte[] payload = Arrays.copyOfRange(stored, 1, stored.length);
+        return switch (stored[0]) {
+            case PLAIN -> new String(payload, StandardCharsets.UTF_8);
+            case DEFLATED -> new String(inflate(payload), StandardCharsets.UTF_8);
+            default -> throw new IllegalStateException("Unknown post body encoding: " + stored[0]);
+        };
+    }
+
+    private static byte[] withHeader(byte header, byte[] payload) {
+        byte[] stored = new byte[payload.length + 1];
+        stored[0] = header;
+        System.arraycopy(payload, 0, stored, 1, payload.length);
+        return stored;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated post body");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt post body", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
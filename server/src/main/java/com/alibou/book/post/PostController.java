@@ -5,9 +5,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("post")
@@ -15,10 +22,17 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Post")
 public class PostController {
 
+    private static final long STATUS_TIMEOUT_MS = 60_000;
+
     private final PostService postService;
+    private final PostWriteQueue postWriteQueue;
 
+    // async=true answers 202 with a handle, see get-create-status
     @PostMapping("create-post")
-    public ResponseEntity<PostResponse>  createPost (@RequestBody @Valid PostRequest request) {
+    public ResponseEntity<PostResponse>  createPost (
+            @RequestBody @Valid PostRequest request,
+            @RequestParam(defaultValue = "false") boolean async
+    ) {
         User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         if (currentUser == null) {
             return new ResponseEntity<>( 
@@ -26,9 +40,69 @@ public class PostController {
                     HttpStatus.UNAUTHORIZED
             );
         }
+        if (async) {
+            return postWriteQueue.submit(request, currentUser);
+        }
         return postService.createPost(request, currentUser);
     }
 
+    // partial edit, fields left out keep their value, version is the one the edit was made on
+    @PatchMapping("update-post/{id}")
+    public ResponseEntity<PostResponse> updatePost(
+            @PathVariable Integer id,
+            @RequestBody @Valid PostPatchRequest request
+    ) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return new ResponseEntity<>(new PostResponse(false, "Unauthorized",null),
+                    HttpStatus.UNAUTHORIZED
+            );
+        }
+        return postService.updatePost(id, request, currentUser);
+    }
+
+    @GetMapping("get-create-status/{handle}")
+    public ResponseEntity<PostResponse> getCreateStatus(@PathVariable String handle) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return new ResponseEntity<>(new PostResponse(false, "Unauthorized",null),
+                    HttpStatus.UNAUTHORIZED
+            );
+        }
+        PostWriteStatus status = postWriteQueue.getStatus(handle, currentUser);
+        if (status == null) {
+            return new ResponseEntity<>(new PostResponse(false, "No queued post found with handle: " + handle, null),
+                    HttpStatus.NOT_FOUND
+            );
+        }
+        return new ResponseEntity<>(new PostResponse(true, null, Collections.singletonList(status)),
+                HttpStatus.OK
+        );
+    }
+
+    // one "status" event once the queued post was written, then the stream ends
+    @GetMapping(value = "subscribe-create-status/{handle}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeCreateStatus(@PathVariable String handle) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        CompletableFuture<PostWriteStatus> result = postWriteQueue.getResult(handle, currentUser);
+        if (result == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        SseEmitter emitter = new SseEmitter(STATUS_TIMEOUT_MS);
+        result.whenComplete((status, e) -> {
+            try {
+                emitter.send(SseEmitter.event().name("status").data(status));
+                emitter.complete();
+            } catch (IOException | IllegalStateException sendFailed) {
+                emitter.completeWithError(sendFailed);
+            }
+        });
+        return new ResponseEntity<>(emitter, HttpStatus.OK);
+    }
+
     @GetMapping("get-posts")
     public ResponseEntity<PostResponse> getPosts(
             @RequestParam(required = false) String category,
@@ -54,7 +128,22 @@ public class PostController {
                     HttpStatus.UNAUTHORIZED
             );
         }
-        return postService.getPostById(id);
+        return postService.getPostById(id, currentUser);
+    }
+
+    // several posts at once, in request order, summaries unless full=true
+    @GetMapping("get-posts-by-ids")
+    public ResponseEntity<PostResponse> getPostsByIds(
+            @RequestParam List<Integer> ids,
+            @RequestParam(defaultValue = "false") boolean full
+    ) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return new ResponseEntity<>(new PostResponse(false, "Unauthorized",null),
+                    HttpStatus.UNAUTHORIZED
+            );
+        }
+        return postService.getPostsByIds(ids, full);
     }
 
     // getting user's bookmarks
@@ -0,0 +1,21 @@
+package com.alibou.book.post;
+
+import java.time.LocalDate;
+
+/**
+ * Counter-only projection of {@link Post}, used to rebuild rankings without loading bodies and tags.
+ */
+public interface PostEngagement {
+
+    Integer getId();
+
+    String getCategory();
+
+    int getLikes();
+
+    int getBookmarks();
+
+    int getShares();
+
+    LocalDate getCreatedDate();
+}
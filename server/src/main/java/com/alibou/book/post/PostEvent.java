@@ -0,0 +1,20 @@
+package com.alibou.book.post;
+
+/**
+ * Published by {@link PostService} after a post changed, so in-memory indexes can follow along.
+ * {@code userId} is the user that triggered the change. {@code remote} events replay a change
+ * made on another node; they only concern in-memory state, the database is already up to date.
+ */
+public record PostEvent(Type type, Post post, Integer userId, boolean remote) {
+
+    public PostEvent(Type type, Post post, Integer userId) {
+        this(type, post, userId, false);
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        BOOKMARKED
+    }
+}
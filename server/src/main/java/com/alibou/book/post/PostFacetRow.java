@@ -0,0 +1,13 @@
+package com.alibou.book.post;
+
+/**
+ * A post's category with one of its tags, posts without tags come with a null tag.
+ */
+public interface PostFacetRow {
+
+    Integer getId();
+
+    String getCategory();
+
+    String getTag();
+}
@@ -0,0 +1,7 @@
+package com.alibou.book.post;
+
+/**
+ * Placeholder for a requested id that does not exist, keeps batch results aligned with the request.
+ */
+public record PostNotFound(Integer id, String error) {
+}
@@ -0,0 +1,30 @@
+package com.alibou.book.post;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Partial edit of a post, fields left {@code null} keep their value. {@code version} is the
+ * version of the post the edit was made on.
+ */
+@Data
+public class PostPatchRequest {
+    @NotNull
+    private Long version;
+
+    private String title;
+
+    private String subtitle;
+
+    private String content;
+
+    private String imageUrl;
+
+    private Boolean featured;
+
+    private String category;
+
+    private List<String> tags;
+}
@@ -1,16 +1,25 @@
 package com.alibou.book.post;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, Integer> {
 
-    List<Post> findByCategoryIgnoreCase(String category);
+    @EntityGraph(attributePaths = "body", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Post> findWithBodyById(Integer id);
 
-    @Query("SELECT p FROM Post p JOIN p.tags t WHERE LOWER(t.name) = LOWER(:tag)")
+    @Query("SELECT p FROM Post p WHERE p.categoryKey = LOWER(:category)")
+    List<Post> findByCategoryIgnoreCase(@Param("category") String category);
+
+    @Query("SELECT p FROM Post p JOIN p.tags t WHERE t.nameKey = LOWER(:tag)")
     List<Post> findByTagsIgnoreCase(@Param("tag") String tag);
 
     List<Post> findTop6ByOrderByCreatedDateDesc(); // optional default loading
@@ -18,4 +27,63 @@ public interface PostRepository extends JpaRepository<Post, Integer> {
     @Query("SELECT p FROM User u JOIN u.bookmarkedPosts p WHERE u.id = :userId")
     List<Post> findBookmarkedPostsByUser(@Param("userId") Integer userId);
 
+    @Query("SELECT p.id AS id, p.category AS category, p.likes AS likes, p.bookmarks AS bookmarks, " +
+            "p.shares AS shares, p.createdDate AS createdDate FROM Post p")
+    List<PostEngagement> findAllEngagement();
+
+    @Query("SELECT t.nameKey AS name, COUNT(p) AS uses FROM Post p JOIN p.tags t GROUP BY t.nameKey")
+    List<TagUsage> findTagUsage();
+
+    @Query("SELECT p.id AS id, p.title AS title, p.likes AS likes, p.bookmarks AS bookmarks, " +
+            "p.shares AS shares, p.uniqueReaders AS uniqueReaders FROM Post p")
+    List<PostTitle> findAllTitles();
+
+    @Query("SELECT p.id FROM Post p ORDER BY p.id DESC")
+    List<Integer> findRecentIds(Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p JOIN p.tags t WHERE t.nameKey = LOWER(:tag) ORDER BY p.id DESC")
+    List<Integer> findRecentIdsByTag(@Param("tag") String tag, Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p WHERE p.categoryKey = LOWER(:category) ORDER BY p.id DESC")
+    List<Integer> findRecentIdsByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p WHERE p.author.id IN :authorIds AND p.id < :beforeId ORDER BY p.id DESC")
+    List<Integer> findRecentIdsByAuthors(@Param("authorIds") Collection<Integer> authorIds,
+                                         @Param("beforeId") Integer beforeId,
+                                         Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.views = p.views + :views WHERE p.id = :id")
+    int addViews(@Param("id") Integer id, @Param("views") long views);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.uniqueReaders = :uniqueReaders WHERE p.id = :id")
+    int setUniqueReaders(@Param("id") Integer id, @Param("uniqueReaders") long uniqueReaders);
+
+    @Query("SELECT MAX(p.id) FROM Post p")
+    Integer findMaxId();
+
+    @Query("SELECT p.id AS id, p.createdDate AS createdDate, p.lastModifiedDate AS lastModifiedDate " +
+            "FROM Post p WHERE p.id > :afterId AND p.id <= :upToId ORDER BY p.id")
+    List<PostSitemapEntry> findSitemapEntries(@Param("afterId") Integer afterId, @Param("upToId") Integer upToId);
+
+    @Query("SELECT p.id AS id, p.category AS category, t.name AS tag FROM Post p LEFT JOIN p.tags t")
+    List<PostFacetRow> findAllFacetRows();
+
+    @Query("SELECT DISTINCT p FROM Post p JOIN FETCH p.body LEFT JOIN FETCH p.tags WHERE p.id > :afterId AND p.id <= :upToId")
+    List<Post> findWithBodyInIdRange(@Param("afterId") Integer afterId, @Param("upToId") Integer upToId);
+
+    @Query("SELECT DISTINCT p FROM Post p JOIN FETCH p.author LEFT JOIN FETCH p.tags WHERE p.id IN :ids")
+    List<Post> findWithTagsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT DISTINCT p FROM Post p JOIN FETCH p.author JOIN FETCH p.body LEFT JOIN FETCH p.tags WHERE p.id IN :ids")
+    List<Post> findWithBodyByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Initializes the comments of already loaded posts in one query, a second bag can not be
+     * fetched together with the tags.
+     */
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.comments WHERE p.id IN :ids")
+    List<Post> fetchCommentsByIdIn(@Param("ids") Collection<Integer> ids);
+
 }
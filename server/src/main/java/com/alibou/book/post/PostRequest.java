@@ -13,8 +13,6 @@ public class PostRequest {
     @NotBlank
     private String content;
 
-    private String readTime;
-
     private String imageUrl;
 
     private boolean featured;
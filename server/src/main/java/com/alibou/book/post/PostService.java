@@ -1,55 +1,96 @@
 package com.alibou.book.post;
 
+import com.alibou.book.cache.SingleFlight;
+import com.alibou.book.cache.SingleFlightRegistry;
 import com.alibou.book.comment.Tag;
+import com.alibou.book.comment.TagRepository;
 import com.alibou.book.user.User;
 import com.alibou.book.user.UserRepository;
+import com.alibou.book.view.ViewService;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.apache.coyote.BadRequestException;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class PostService {
 
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentProcessor contentProcessor;
+    private final ViewService viewService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int batchMaxIds;
 
+    /**
+     * Concurrent requests for the same post or feed share one load. The loaded entities are
+     * serialized inside the loading transaction and only the JSON is shared, so no request
+     * thread ever touches another request's persistence context.
+     */
+    private final SingleFlight<Integer, SerializedJson> postFlight;
+    private final SingleFlight<String, List<Object>> feedFlight;
 
+    public PostService(PostRepository postRepository,
+                       UserRepository userRepository,
+                       TagRepository tagRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       ContentProcessor contentProcessor,
+                       ViewService viewService,
+                       ObjectMapper objectMapper,
+                       EntityManager entityManager,
+                       PlatformTransactionManager transactionManager,
+                       SingleFlightRegistry singleFlights,
+                       @Value("${application.post.batch-max-ids:100}") int batchMaxIds) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.tagRepository = tagRepository;
+        this.eventPublisher = eventPublisher;
+        this.contentProcessor = contentProcessor;
+        this.viewService = viewService;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.postFlight = singleFlights.create("post");
+        this.feedFlight = singleFlights.create("feed");
+        this.batchMaxIds = batchMaxIds;
+    }
+
+    @Transactional
     public ResponseEntity<PostResponse> createPost(PostRequest request, User user) {
         
         try {
-
-            List<Tag> tags = request
-                                .getTags()
-                                .stream()
-                                .map(tagName -> Tag.builder().name(tagName).build())
-                                .toList();
-
-
-            var post = Post.builder()
-                    .title(request.getTitle())
-                    .subtitle(request.getSubtitle())
-                    .content(request.getContent())
-                    .author(user)
-                    .readTime(request.getReadTime())
-                    .imageUrl(request.getImageUrl())
-                    .featured(request.isFeatured())
-                    .category(request.getCategory())
-                    .likes(request.getLikes())
-                    .bookmarks(request.getBookmarks())
-                    .shares(request.getShares())
-                    .tags(tags)
-                    .build();
-
-            postRepository.save(post);
+            var post = insert(request, user);
 
             return new ResponseEntity<>(
                     PostResponse.builder()
@@ -71,18 +112,228 @@ public class PostService {
         }
     }
 
-    public ResponseEntity<PostResponse> filterPosts(String category, String tag) {
+    /**
+     * Saves a new post in the current transaction, shared by {@link #createPost} and the
+     * batches of {@link PostWriteQueue}.
+     */
+    Post insert(PostRequest request, User user) {
+        List<Tag> tags = resolveTags(request.getTags());
+
+        var post = Post.builder()
+                .title(request.getTitle())
+                .subtitle(request.getSubtitle())
+                .body(PostBody.of(request.getContent()))
+                .author(user)
+                .imageUrl(request.getImageUrl())
+                .featured(request.isFeatured())
+                .category(request.getCategory())
+                .likes(request.getLikes())
+                .bookmarks(request.getBookmarks())
+                .shares(request.getShares())
+                .tags(tags)
+                .build();
+
+        contentProcessor.prepare(post);
+        postRepository.save(post);
+        eventPublisher.publishEvent(new PostEvent(PostEvent.Type.CREATED, post, user.getId()));
+        return post;
+    }
+
+    /**
+     * Applies the fields set in {@code request}. Only changed columns are written and counters
+     * are not part of the version check, so engagement arriving meanwhile is neither lost nor a
+     * conflict. The edit fails with 409 once the post is no longer at {@code request.getVersion()}.
+     * The transaction is committed in here, so a conflict detected on commit is a 409 as well.
+     */
+    public ResponseEntity<PostResponse> updatePost(Integer id, PostPatchRequest request, User user) {
+        if ((request.getTitle() != null && request.getTitle().isBlank())
+                || (request.getContent() != null && request.getContent().isBlank())) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Title and content must not be blank")
+                            .content(null)
+                            .build(),
+                    HttpStatus.BAD_REQUEST
+            );
+        }
         try {
-            List<Post> posts;
-            if (category != null) {
-                posts = postRepository.findByCategoryIgnoreCase(category);
+            return writeTransaction.execute(status -> {
+                Post post = postRepository.findWithBodyById(id).orElse(null);
+                if (post == null) {
+                    status.setRollbackOnly();
+                    return new ResponseEntity<>(
+                            PostResponse.builder()
+                                    .success(false)
+                                    .message("No post found with id: " + id)
+                                    .content(null)
+                                    .build(),
+                            HttpStatus.NOT_FOUND
+                    );
+                }
+                // everything the response shows, it is written after the transaction ended
+                Hibernate.initialize(post.getBody());
+                Hibernate.initialize(post.getComments());
+                if (!post.getAuthor().getId().equals(user.getId())) {
+                    status.setRollbackOnly();
+                    return new ResponseEntity<>(
+                            PostResponse.builder()
+                                    .success(false)
+                                    .message("Only the author can edit this post")
+                                    .content(null)
+                                    .build(),
+                            HttpStatus.FORBIDDEN
+                    );
+                }
+                if (!post.getVersion().equals(request.getVersion())) {
+                    status.setRollbackOnly();
+                    return new ResponseEntity<>(
+                            PostResponse.builder()
+                                    .success(false)
+                                    .message("Post was edited meanwhile, current version is " + post.getVersion())
+                                    .content(Collections.singletonList(post))
+                                    .build(),
+                            HttpStatus.CONFLICT
+                    );
+                }
+                boolean rowChanged = applyPatch(post, request);
+                boolean bodyChanged = request.getContent() != null && !request.getContent().equals(post.getContent());
+                if (bodyChanged) {
+                    post.getBody().setContent(request.getContent());
+                    contentProcessor.prepare(post);
+                }
+                if (!rowChanged && !bodyChanged) {
+                    // rolled back, an edit without changes must not bump the version
+                    status.setRollbackOnly();
+                    return new ResponseEntity<>(
+                            PostResponse.builder()
+                                    .success(true)
+                                    .message("Nothing to update")
+                                    .content(Collections.singletonList(post))
+                                    .build(),
+                            HttpStatus.OK
+                    );
+                }
+                post.setLastModifiedDate(LocalDate.now());
+                if (!rowChanged) {
+                    // the body lives in its own table, an edit of only the body still counts
+                    entityManager.lock(post, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+                }
+                eventPublisher.publishEvent(new PostEvent(PostEvent.Type.UPDATED, post, user.getId()));
+                return new ResponseEntity<>(
+                        PostResponse.builder()
+                                .success(true)
+                                .message("Post updated successfully")
+                                .content(Collections.singletonList(post))
+                                .build(),
+                        HttpStatus.OK
+                );
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Post was edited meanwhile, reload it and try again")
+                            .content(null)
+                            .build(),
+                    HttpStatus.CONFLICT
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Error updating Post: " + e.getMessage())
+                            .content(null)
+                            .build(),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    /**
+     * Copies the set fields of the post row that differ onto the post, returns whether any did.
+     * The body is left to the caller.
+     */
+    private boolean applyPatch(Post post, PostPatchRequest request) {
+        boolean changed = false;
+        if (request.getTitle() != null && !request.getTitle().equals(post.getTitle())) {
+            post.setTitle(request.getTitle());
+            changed = true;
+        }
+        if (request.getSubtitle() != null && !request.getSubtitle().equals(post.getSubtitle())) {
+            post.setSubtitle(request.getSubtitle());
+            changed = true;
+        }
+        if (request.getImageUrl() != null && !request.getImageUrl().equals(post.getImageUrl())) {
+            post.setImageUrl(request.getImageUrl());
+            changed = true;
+        }
+        if (request.getFeatured() != null && request.getFeatured() != post.isFeatured()) {
+            post.setFeatured(request.getFeatured());
+            changed = true;
+        }
+        if (request.getCategory() != null && !request.getCategory().equals(post.getCategory())) {
+            post.setCategory(request.getCategory());
+            changed = true;
+        }
+        if (request.getTags() != null) {
+            List<Tag> tags = resolveTags(request.getTags());
+            if (!tags.stream().map(Tag::getName).toList().equals(post.getTags().stream().map(Tag::getName).toList())) {
+                post.setTags(new ArrayList<>(tags));
+                changed = true;
             }
-            else if (tag != null) {
-                posts = postRepository.findByTagsIgnoreCase(tag);
+        }
+        return changed;
+    }
+
+    /**
+     * Tags are unique ignoring case, names already known reuse their row and only new ones are
+     * created. The first spelling of a name wins.
+     */
+    private List<Tag> resolveTags(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Tag> tags = new LinkedHashMap<>();
+        for (String name : names) {
+            if (name != null && !name.isBlank()) {
+                tags.putIfAbsent(name.toLowerCase(Locale.ROOT), null);
             }
-            else {
-                posts = postRepository.findTop6ByOrderByCreatedDateDesc();
+        }
+        if (tags.isEmpty()) {
+            return List.of();
+        }
+        // the generated key is not read back into tags saved earlier in this transaction, match on the name
+        for (Tag existing : tagRepository.findByNameKeyIn(tags.keySet())) {
+            tags.replace(existing.getName().toLowerCase(Locale.ROOT), existing);
+        }
+        for (String name : names) {
+            if (name != null && !name.isBlank() && tags.get(name.toLowerCase(Locale.ROOT)) == null) {
+                tags.put(name.toLowerCase(Locale.ROOT), Tag.builder().name(name).build());
             }
+        }
+        return new ArrayList<>(tags.values());
+    }
+
+    // no transaction here, requests waiting for another one's load must not hold a connection
+    public ResponseEntity<PostResponse> filterPosts(String category, String tag) {
+        try {
+            String key = category != null ? "category:" + category.toLowerCase(Locale.ROOT)
+                    : tag != null ? "tag:" + tag.toLowerCase(Locale.ROOT)
+                    : "latest";
+            List<Object> posts = feedFlight.load(key, () -> readOnlyTransaction.execute(status -> {
+                List<Post> found;
+                if (category != null) {
+                    found = postRepository.findByCategoryIgnoreCase(category);
+                }
+                else if (tag != null) {
+                    found = postRepository.findByTagsIgnoreCase(tag);
+                }
+                else {
+                    found = postRepository.findTop6ByOrderByCreatedDateDesc();
+                }
+                return PostSummary.fromAll(found).stream().<Object>map(this::serialize).toList();
+            }));
             if (posts.isEmpty()) {
                 return new ResponseEntity<>(
                         PostResponse.builder()
@@ -97,7 +348,7 @@ public class PostService {
                     PostResponse.builder()
                             .success(true)
                             .message("Posts fetched successfully")
-                            .content(new ArrayList<>(posts))
+                            .content(posts)
                             .build(),
                     HttpStatus.OK
             );
@@ -114,11 +365,15 @@ public class PostService {
         }
     }
 
-    public ResponseEntity<PostResponse> getPostById(Integer id) {
+    public ResponseEntity<PostResponse> getPostById(Integer id, User user) {
         
         try {
-            var post = postRepository.findById(id)
-                    .orElseThrow(() -> new BadRequestException("No post found with id: " + id));
+            SerializedJson post = postFlight.load(id, () -> readOnlyTransaction.execute(status ->
+                    postRepository.findWithBodyById(id).map(this::serialize).orElse(null)));
+            if (post == null) {
+                throw new BadRequestException("No post found with id: " + id);
+            }
+            viewService.record(id, user.getId());
 
             return new ResponseEntity<>(
                     PostResponse.builder()
@@ -149,6 +404,59 @@ public class PostService {
         }
     }
 
+    /**
+     * Loads up to {@code application.post.batch-max-ids} posts with one query and returns them in
+     * request order, ids that do not exist get a {@link PostNotFound} in their place.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<PostResponse> getPostsByIds(List<Integer> ids, boolean full) {
+        if (ids == null || ids.isEmpty() || ids.size() > batchMaxIds) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Between 1 and " + batchMaxIds + " ids are required")
+                            .content(null)
+                            .build(),
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        try {
+            var distinctIds = new LinkedHashSet<>(ids);
+            List<Post> found = full
+                    ? postRepository.findWithBodyByIdIn(distinctIds)
+                    : postRepository.findWithTagsByIdIn(distinctIds);
+            if (full && !found.isEmpty()) {
+                postRepository.fetchCommentsByIdIn(distinctIds);
+            }
+            Map<Integer, Object> byId = found.stream()
+                    .collect(Collectors.toMap(Post::getId, post -> full ? post : PostSummary.from(post)));
+
+            List<Object> content = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                Object post = byId.get(id);
+                content.add(post != null ? post : new PostNotFound(id, "No post found with id: " + id));
+            }
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(true)
+                            .message("Posts fetched successfully")
+                            .content(content)
+                            .build(),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Error fetching Posts: " + e.getMessage())
+                            .content(null)
+                            .build(),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    @Transactional(readOnly = true)
     public ResponseEntity<PostResponse> getBookmarks(User user) {
         try {
             List<Post> bookmarks = postRepository.findBookmarkedPostsByUser(user.getId());
@@ -166,7 +474,7 @@ public class PostService {
                     PostResponse.builder()
                             .success(true)
                             .message("Bookmarks fetched successfully")
-                            .content(new ArrayList<>(bookmarks))
+                            .content(PostSummary.fromAll(bookmarks))
                             .build(),
                     HttpStatus.OK
             );
@@ -182,6 +490,7 @@ public class PostService {
         }
     }
 
+    @Transactional
     public ResponseEntity<PostResponse> bookmarkPost(Integer id, User user) {
         try {
             var post = postRepository.findById(id)
@@ -191,6 +500,7 @@ public class PostService {
             userRepository.save(user);
             post.setBookmarks(post.getBookmarks() + 1);
             postRepository.save(post);
+            eventPublisher.publishEvent(new PostEvent(PostEvent.Type.BOOKMARKED, post, user.getId()));
             
             return new ResponseEntity<>(
                     PostResponse.builder()
@@ -222,6 +532,34 @@ public class PostService {
     }
 
 
+    /**
+     * Loads the given posts and their tags with one query and returns them in the order of
+     * {@code ids}, skipping ids that no longer exist.
+     */
+    public List<Post> findAllInOrder(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Post> posts = postRepository.findWithTagsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> ordered = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Post post = posts.get(id);
+            if (post != null) {
+                ordered.add(post);
+            }
+        }
+        return ordered;
+    }
+
+    private SerializedJson serialize(Object value) {
+        try {
+            return new SerializedJson(objectMapper.writeValueAsString(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
 
     // ---- Class End ----
 }
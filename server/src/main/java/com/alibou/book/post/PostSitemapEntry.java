@@ -0,0 +1,15 @@
+package com.alibou.book.post;
+
+import java.time.LocalDate;
+
+/**
+ * What a sitemap needs to know about a post.
+ */
+public interface PostSitemapEntry {
+
+    Integer getId();
+
+    LocalDate getCreatedDate();
+
+    LocalDate getLastModifiedDate();
+}
@@ -0,0 +1,54 @@
+package com.alibou.book.post;
+
+import com.alibou.book.comment.Tag;
+import com.alibou.book.image.ImageVariant;
+import com.alibou.book.user.User;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * List view of a {@link Post}: everything but the body, which only the detail endpoint ships.
+ */
+public record PostSummary(
+        Integer id,
+        String title,
+        String subtitle,
+        String excerpt,
+        User author,
+        String readTime,
+        int wordCount,
+        String imageUrl,
+        boolean featured,
+        String category,
+        int likes,
+        int bookmarks,
+        int shares,
+        List<Tag> tags,
+        LocalDate createdDate
+) {
+
+    public static PostSummary from(Post post) {
+        return new PostSummary(
+                post.getId(),
+                post.getTitle(),
+                post.getSubtitle(),
+                post.getExcerpt(),
+                post.getAuthor(),
+                post.getReadTime(),
+                post.getWordCount(),
+                ImageVariant.rewrite(post.getImageUrl(), ImageVariant.FEED),
+                post.isFeatured(),
+                post.getCategory(),
+                post.getLikes(),
+                post.getBookmarks(),
+                post.getShares(),
+                post.getTags(),
+                post.getCreatedDate()
+        );
+    }
+
+    public static List<Object> fromAll(List<Post> posts) {
+        return posts.stream().map(PostSummary::from).map(Object.class::cast).toList();
+    }
+}
@@ -0,0 +1,19 @@
+package com.alibou.book.post;
+
+/**
+ * Title and popularity counters of a {@link Post}, used to build title suggestions.
+ */
+public interface PostTitle {
+
+    Integer getId();
+
+    String getTitle();
+
+    int getLikes();
+
+    int getBookmarks();
+
+    int getShares();
+
+    long getUniqueReaders();
+}
@@ -0,0 +1,235 @@
+package com.alibou.book.post;
+
+import com.alibou.book.user.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous post creation with group commit.
+ * <p>
+ * Submitted posts are acknowledged right away with a handle and written by a single thread,
+ * which takes everything queued up while the previous transaction committed, up to
+ * {@code application.post.write-queue.batch-size}, and saves it in one transaction. Under load
+ * many posts share one commit, when idle a post is written on its own without delay. If a batch
+ * fails its posts are retried one by one so only the broken one is reported as failed.
+ * The queue holds {@code application.post.write-queue.capacity} posts, beyond that submissions
+ * are rejected with 503 and Retry-After. Statuses are kept for
+ * {@code application.post.write-queue.status-ttl-ms} after a post was written.
+ */
+@Slf4j
+@Component
+public class PostWriteQueue implements SmartLifecycle {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PostService postService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long statusTtlMillis;
+    private final BlockingQueue<Pending> queue;
+    private final Map<String, Pending> statuses = new ConcurrentHashMap<>();
+
+    private Thread writer;
+    private volatile boolean running;
+
+    private static final class Pending {
+        final String handle = UUID.randomUUID().toString();
+        final PostRequest request;
+        final User user;
+        final CompletableFuture<PostWriteStatus> result = new CompletableFuture<>();
+        volatile long finishedAt;
+
+        Pending(PostRequest request, User user) {
+            this.request = request;
+            this.user = user;
+        }
+
+        PostWriteStatus status() {
+            return result.getNow(new PostWriteStatus(handle, PostWriteStatus.State.QUEUED, null, null));
+        }
+    }
+
+    public PostWriteQueue(
+            PostService postService,
+            PlatformTransactionManager transactionManager,
+            @Value("${application.post.write-queue.capacity:1000}") int capacity,
+            @Value("${application.post.write-queue.batch-size:50}") int batchSize,
+            @Value("${application.post.write-queue.status-ttl-ms:600000}") long statusTtlMillis
+    ) {
+        this.postService = postService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.statusTtlMillis = statusTtlMillis;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public ResponseEntity<PostResponse> submit(PostRequest request, User user) {
+        Pending pending = new Pending(request, user);
+        statuses.put(pending.handle, pending);
+        if (!running || !queue.offer(pending)) {
+            statuses.remove(pending.handle);
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(RETRY_AFTER_SECONDS));
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Too many posts queued, try again later")
+                            .content(null)
+                            .build(),
+                    headers,
+                    HttpStatus.SERVICE_UNAVAILABLE
+            );
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setLocation(URI.create("/post/get-create-status/" + pending.handle));
+        return new ResponseEntity<>(
+                PostResponse.builder()
+                        .success(true)
+                        .message("Post queued")
+                        .content(Collections.singletonList(pending.status()))
+                        .build(),
+                headers,
+                HttpStatus.ACCEPTED
+        );
+    }
+
+    /**
+     * Completes once the post was written or failed, {@code null} for unknown handles and
+     * handles of other users.
+     */
+    public CompletableFuture<PostWriteStatus> getResult(String handle, User user) {
+        Pending pending = statuses.get(handle);
+        if (pending == null || !pending.user.getId().equals(user.getId())) {
+            return null;
+        }
+        return pending.result;
+    }
+
+    /**
+     * {@code null} for unknown handles and handles of other users.
+     */
+    public PostWriteStatus getStatus(String handle, User user) {
+        Pending pending = statuses.get(handle);
+        if (pending == null || !pending.user.getId().equals(user.getId())) {
+            return null;
+        }
+        return pending.status();
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void expireStatuses() {
+        long cutoff = System.currentTimeMillis() - statusTtlMillis;
+        statuses.values().removeIf(pending -> pending.finishedAt != 0 && pending.finishedAt < cutoff);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "post-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops taking posts and writes what is already queued.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Stopped with {} posts still queued", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Post writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        long start = System.currentTimeMillis();
+        List<Post> posts;
+        try {
+            posts = transactionTemplate.execute(status -> {
+                List<Post> saved = new ArrayList<>(batch.size());
+                for (Pending pending : batch) {
+                    saved.add(postService.insert(pending.request, pending.user));
+                }
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                finish(batch.get(0), new PostWriteStatus(batch.get(0).handle, PostWriteStatus.State.FAILED,
+                        null, "Error creating Post: " + e.getMessage()));
+            } else {
+                log.debug("Batch of {} posts failed, writing them one by one", batch.size(), e);
+                for (Pending pending : batch) {
+                    write(List.of(pending));
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            finish(pending, new PostWriteStatus(pending.handle, PostWriteStatus.State.CREATED,
+                    posts.get(i).getId(), null));
+        }
+        log.debug("Wrote {} posts in one transaction in {} ms", batch.size(), System.currentTimeMillis() - start);
+    }
+
+    private void finish(Pending pending, PostWriteStatus status) {
+        pending.finishedAt = System.currentTimeMillis();
+        pending.result.complete(status);
+    }
+}
@@ -0,0 +1,18 @@
+package com.alibou.book.post;
+
+/**
+ * State of a post submitted through {@link PostWriteQueue}. {@code postId} is set once it is
+ * created, {@code error} when it failed.
+ */
+public record PostWriteStatus(String handle, State state, Integer postId, String error) {
+
+    public enum State {
+        QUEUED,
+        CREATED,
+        FAILED
+    }
+
+    public boolean isFinished() {
+        return state != State.QUEUED;
+    }
+}
@@ -0,0 +1,52 @@
+package com.alibou.book.post;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * A value that was serialized to JSON once and is shared between responses.
+ * <p>
+ * JSON responses splice the text in as is. Other formats (CBOR, Smile) can not take raw text,
+ * there the JSON is streamed token by token into the target generator, which is still much
+ * cheaper than serializing the entities again and needs no intermediate tree.
+ */
+public final class SerializedJson extends JsonSerializable.Base {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final String json;
+
+    public SerializedJson(String json) {
+        this.json = json;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (gen instanceof JsonGeneratorImpl) {
+            gen.writeRawValue(json);
+            return;
+        }
+        try (JsonParser parser = JSON.createParser(json)) {
+            parser.nextToken();
+            gen.copyCurrentStructure(parser);
+        }
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
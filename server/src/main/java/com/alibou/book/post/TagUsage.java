@@ -0,0 +1,11 @@
+package com.alibou.book.post;
+
+/**
+ * Case-folded tag name and the number of posts using it.
+ */
+public interface TagUsage {
+
+    String getName();
+
+    long getUses();
+}
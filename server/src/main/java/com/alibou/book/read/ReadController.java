@@ -0,0 +1,80 @@
+package com.alibou.book.read;
+
+import com.alibou.book.feed.FeedService;
+import com.alibou.book.post.PostResponse;
+import com.alibou.book.post.PostService;
+import com.alibou.book.user.User;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The read-heavy endpoints as asynchronous requests: same answers as their blocking
+ * counterparts in post and feed, but the servlet thread is released while the read waits for
+ * the database, see {@link ReadExecutor}.
+ */
+@RestController
+@RequestMapping("read")
+@RequiredArgsConstructor
+@Tag(name = "Read")
+public class ReadController {
+
+    private final PostService postService;
+    private final FeedService feedService;
+    private final ReadExecutor readExecutor;
+
+    @GetMapping("get-posts")
+    public CompletableFuture<ResponseEntity<PostResponse>> getPosts(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String tag
+    ) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return unauthorized();
+        }
+        return readExecutor.submit(() -> postService.filterPosts(category, tag));
+    }
+
+    @GetMapping("get-post/{id}")
+    public CompletableFuture<ResponseEntity<PostResponse>> getPostById(@PathVariable Integer id) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return unauthorized();
+        }
+        return readExecutor.submit(() -> postService.getPostById(id, currentUser));
+    }
+
+    @GetMapping("get-bookmarks")
+    public CompletableFuture<ResponseEntity<PostResponse>> getBookmarks() {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return unauthorized();
+        }
+        return readExecutor.submit(() -> postService.getBookmarks(currentUser));
+    }
+
+    @GetMapping("get-for-you")
+    public CompletableFuture<ResponseEntity<PostResponse>> getForYou(@RequestParam(defaultValue = "20") int limit) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (currentUser == null) {
+            return unauthorized();
+        }
+        return readExecutor.submit(() -> feedService.getForYou(currentUser, Math.min(limit, FeedService.MAX_FEED)));
+    }
+
+    private static CompletableFuture<ResponseEntity<PostResponse>> unauthorized() {
+        return CompletableFuture.completedFuture(new ResponseEntity<>(
+                new PostResponse(false, "Unauthorized", null),
+                HttpStatus.UNAUTHORIZED
+        ));
+    }
+}
@@ -0,0 +1,80 @@
+package com.alibou.book.read;
+
+import com.alibou.book.post.PostResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the reads of {@link ReadController} off the servlet threads.
+ * <p>
+ * A read spends most of its time waiting for a database connection and the query, with
+ * {@code read.workers} sized to the connection pool that waiting happens here, in a bounded
+ * queue, while the Tomcat thread goes back to serve other requests. Reads beyond the queue are
+ * answered with 503 right away.
+ */
+@Component
+public class ReadExecutor {
+
+    private final ThreadPoolExecutor workers;
+
+    public ReadExecutor(
+            @Value("${application.read.workers:10}") int workers,
+            @Value("${application.read.queue:1000}") int queue
+    ) {
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "read-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Runs the read with the caller's security context, the routing data source needs it.
+     */
+    public CompletableFuture<ResponseEntity<PostResponse>> submit(Supplier<ResponseEntity<PostResponse>> read) {
+        CompletableFuture<ResponseEntity<PostResponse>> result = new CompletableFuture<>();
+        try {
+            workers.execute(DelegatingSecurityContextRunnable.create(() -> {
+                try {
+                    result.complete(read.get());
+                } catch (RuntimeException | Error e) {
+                    result.completeExceptionally(e);
+                }
+            }, null));
+        } catch (RejectedExecutionException e) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, "1");
+            result.complete(new ResponseEntity<>(
+                    new PostResponse(false, "Too many reads queued, try again later", null),
+                    headers,
+                    HttpStatus.SERVICE_UNAVAILABLE
+            ));
+        }
+        return result;
+    }
+
+    public int queued() {
+        return workers.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
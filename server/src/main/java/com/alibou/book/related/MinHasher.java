@@ -0,0 +1,150 @@
+package com.alibou.book.related;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures for feature sets. Two signatures agree in a slot with probability equal
+ * to the Jaccard similarity of the sets they were built from.
+ */
+class MinHasher {
+
+    static final int BANDS = 10;
+    static final int ROWS = 3;
+    static final int SIZE = BANDS * ROWS;
+
+    /**
+     * Tags and category are few compared to content shingles, repeating them keeps them
+     * significant for the similarity.
+     */
+    private static final int TAG_WEIGHT = 8;
+    private static final int CATEGORY_WEIGHT = 8;
+
+    /**
+     * Only the shingles with the smallest hashes are kept (bottom-k sampling), which bounds
+     * the work for long posts while staying consistent between posts.
+     */
+    private static final int MAX_SHINGLES = 64;
+    private static final int SHINGLE_WORDS = 3;
+
+    private final long[] seeds = new long[SIZE];
+
+    MinHasher() {
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        for (int i = 0; i < SIZE; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Returns {@code null} when there is nothing to compare, such a post has no related posts.
+     */
+    int[] signature(Collection<String> tags, String category, String content) {
+        long[] features = features(tags, category, content);
+        if (features.length == 0) {
+            return null;
+        }
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long feature : features) {
+            for (int i = 0; i < SIZE; i++) {
+                int h = (int) mix(feature ^ seeds[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Hash of one band of a signature, read from {@code signatures} starting at {@code offset}.
+     */
+    static int bandKey(int[] signatures, int offset, int band) {
+        long h = band;
+        for (int i = offset + band * ROWS; i < offset + (band + 1) * ROWS; i++) {
+            h = mix(h * 31 + signatures[i]);
+        }
+        return (int) h;
+    }
+
+    /**
+     * Number of agreeing slots of two signatures stored in {@code signatures}.
+     */
+    static int agreement(int[] signatures, int offsetA, int offsetB) {
+        int same = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (signatures[offsetA + i] == signatures[offsetB + i]) {
+                same++;
+            }
+        }
+        return same;
+    }
+
+    private static long[] features(Collection<String> tags, String category, String content) {
+        long[] shingles = shingles(content);
+        int tagCount = tags != null ? tags.size() : 0;
+        long[] features = new long[tagCount * TAG_WEIGHT + CATEGORY_WEIGHT + shingles.length];
+        int n = 0;
+        if (tags != null) {
+            for (String tag : tags) {
+                long h = hash("t:" + normalize(tag));
+                for (int copy = 0; copy < TAG_WEIGHT; copy++) {
+                    features[n++] = mix(h + copy);
+                }
+            }
+        }
+        if (category != null && !category.isBlank()) {
+            long h = hash("c:" + normalize(category));
+            for (int copy = 0; copy < CATEGORY_WEIGHT; copy++) {
+                features[n++] = mix(h + copy);
+            }
+        }
+        System.arraycopy(shingles, 0, features, n, shingles.length);
+        return Arrays.copyOf(features, n + shingles.length);
+    }
+
+    private static long[] shingles(String content) {
+        if (content == null || content.isBlank()) {
+            return new long[0];
+        }
+        String[] words = content.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        int count = Math.max(0, words.length - SHINGLE_WORDS + 1);
+        long[] hashes = new long[count];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            long h = 0;
+            for (int w = i; w < i + SHINGLE_WORDS; w++) {
+                h = h * 31 + words[w].hashCode();
+            }
+            hashes[n++] = mix(h);
+        }
+        Arrays.sort(hashes, 0, n);
+        int distinct = 0;
+        for (int i = 0; i < n && distinct < MAX_SHINGLES; i++) {
+            if (distinct == 0 || hashes[i] != hashes[distinct - 1]) {
+                hashes[distinct++] = hashes[i];
+            }
+        }
+        return Arrays.copyOf(hashes, distinct);
+    }
+
+    private static long hash(String value) {
+        return mix(value.hashCode() * 0x9E3779B97F4A7C15L);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,28 @@
+package com.alibou.book.related;
+
+import com.alibou.book.post.PostResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("related")
+@RequiredArgsConstructor
+@Tag(name = "Related Posts")
+public class RelatedPostsController {
+
+    private final RelatedPostsService relatedPostsService;
+
+    @GetMapping("get-related/{id}")
+    public ResponseEntity<PostResponse> getRelated(
+            @PathVariable Integer id,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        return relatedPostsService.getRelated(id, limit);
+    }
+}
@@ -0,0 +1,415 @@
+package com.alibou.book.related;
+
+import com.alibou.book.comment.Tag;
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostResponse;
+import com.alibou.book.post.PostService;
+import com.alibou.book.post.PostSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Keeps the top {@value #TOP_N} related posts of every post in memory.
+ * <p>
+ * Similar posts are found through locality sensitive hashing: every MinHash signature is cut
+ * into bands and posts sharing a band hash become candidates, which are then ranked by their
+ * estimated Jaccard similarity. A full rebuild runs at startup and nightly, changes are applied
+ * incrementally in between. Changes made while a rebuild runs are recorded and replayed onto the
+ * rebuilt index before it replaces the current one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RelatedPostsService {
+
+    static final int TOP_N = 10;
+
+    /**
+     * Bounds the work for buckets of very common tag and category combinations.
+     */
+    private static final int MAX_BUCKET_SCAN = 64;
+
+    /**
+     * Minimum agreeing signature slots, about 10% estimated similarity.
+     */
+    private static final int MIN_AGREEMENT = 3;
+
+    private static final int REBUILD_CHUNK = 1000;
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final MinHasher hasher = new MinHasher();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Index index = new Index(0);
+    private List<Change> journal;
+
+    public List<Integer> getRelatedIds(Integer id, int limit) {
+        Index current = index;
+        int[] related = current.related;
+        int[] signatures = current.signatures;
+        boolean[] known = current.known;
+        if (id == null || id <= 0 || id >= known.length || !known[id] || (id + 1) * TOP_N > related.length
+                || limit <= 0) {
+            return List.of();
+        }
+        List<Integer> ids = new ArrayList<>(Math.min(limit, TOP_N));
+        for (int i = id * TOP_N; i < (id + 1) * TOP_N && ids.size() < limit; i++) {
+            int other = related[i];
+            // posts edited since they were ranked may not be similar anymore
+            if (other != 0 && other < known.length && known[other] && (other + 1) * MinHasher.SIZE <= signatures.length
+                    && MinHasher.agreement(signatures, id * MinHasher.SIZE, other * MinHasher.SIZE) >= MIN_AGREEMENT) {
+                ids.add(other);
+            }
+        }
+        return ids;
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<PostResponse> getRelated(Integer id, int limit) {
+        try {
+            List<Integer> ids = getRelatedIds(id, Math.min(Math.max(limit, 0), TOP_N));
+            if (ids.isEmpty()) {
+                return new ResponseEntity<>(
+                        PostResponse.builder()
+                                .success(false)
+                                .message("No related posts found")
+                                .content(null)
+                                .build(),
+                        HttpStatus.NOT_FOUND
+                );
+            }
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(true)
+                            .message("Related posts fetched successfully")
+                            .content(PostSummary.fromAll(postService.findAllInOrder(ids)))
+                            .build(),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Error fetching related posts: " + e.getMessage())
+                            .content(null)
+                            .build(),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> add(event.post().getId(), signature(event.post()));
+            case DELETED -> remove(event.post().getId());
+            default -> {
+            }
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${application.related.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (this) {
+            journal = new ArrayList<>();
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Integer maxId = postRepository.findMaxId();
+            if (maxId == null) {
+                return;
+            }
+            Index fresh = new Index(maxId + 1);
+            for (int from = 0; from < maxId; from += REBUILD_CHUNK) {
+                postRepository.findWithBodyInIdRange(from, from + REBUILD_CHUNK)
+                        .parallelStream()
+                        .forEach(post -> fresh.setSignature(post.getId(), signature(post)));
+            }
+            fresh.buildBands();
+            IntStream.range(1, fresh.known.length)
+                    .parallel()
+                    .filter(id -> fresh.known[id])
+                    .forEach(id -> fresh.setRelated(id, fresh.score(id)));
+
+            synchronized (this) {
+                List<Change> changes = journal;
+                journal = null;
+                index = fresh;
+                // posts created, edited or deleted while the rebuild was running
+                for (Change change : changes) {
+                    add(change.id(), change.signature());
+                }
+            }
+            log.info("Rebuilt related posts for {} posts in {} ms", maxId, System.currentTimeMillis() - start);
+        } finally {
+            synchronized (this) {
+                journal = null;
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    synchronized void add(Integer id, int[] signature) {
+        if (signature == null) {
+            remove(id);
+            return;
+        }
+        if (journal != null) {
+            journal.add(new Change(id, signature));
+        }
+        Index current = index;
+        current.ensureCapacity(id + 1);
+        current.forgetBands(id);
+        current.setSignature(id, signature);
+        current.addToRecentBuckets(id);
+        long[] scored = current.score(id);
+        current.setRelated(id, scored);
+        for (long candidate : scored) {
+            current.offerRelated((int) candidate, id, (int) (candidate >>> 32));
+        }
+    }
+
+    synchronized void remove(Integer id) {
+        if (journal != null) {
+            journal.add(new Change(id, null));
+        }
+        Index current = index;
+        if (id < current.known.length) {
+            current.forgetBands(id);
+            current.known[id] = false;
+        }
+    }
+
+    private int[] signature(Post post) {
+        List<String> tags = post.getTags() == null ? List.of() : post.getTags().stream().map(Tag::getName).toList();
+        return hasher.signature(tags, post.getCategory(), post.getContent());
+    }
+
+    /**
+     * A change made during a rebuild, a null signature removes the post.
+     */
+    private record Change(Integer id, int[] signature) {
+    }
+
+    /**
+     * Dense arrays indexed by post id, which keeps a million posts at a few hundred bytes each.
+     * Band membership from the last rebuild is held in sorted arrays, posts added or changed
+     * since then in a small map.
+     */
+    private static final class Index {
+
+        int[] signatures;
+        int[] related;
+        boolean[] known;
+        // whether the post's entries in bands still match its signature
+        boolean[] inBands;
+        long[][] bands = new long[MinHasher.BANDS][0];
+        final Map<Long, int[]> recentBuckets = new HashMap<>();
+
+        Index(int capacity) {
+            signatures = new int[capacity * MinHasher.SIZE];
+            related = new int[capacity * TOP_N];
+            known = new boolean[capacity];
+            inBands = new boolean[capacity];
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity <= known.length) {
+                return;
+            }
+            int grown = Math.max(capacity, known.length + (known.length >> 1) + 16);
+            signatures = Arrays.copyOf(signatures, grown * MinHasher.SIZE);
+            related = Arrays.copyOf(related, grown * TOP_N);
+            known = Arrays.copyOf(known, grown);
+            inBands = Arrays.copyOf(inBands, grown);
+        }
+
+        void setSignature(int id, int[] signature) {
+            if (signature == null) {
+                return;
+            }
+            System.arraycopy(signature, 0, signatures, id * MinHasher.SIZE, MinHasher.SIZE);
+            known[id] = true;
+        }
+
+        /**
+         * Entries are {@code bandKey << 32 | id}, so all ids of one bucket are adjacent after sorting.
+         */
+        void buildBands() {
+            for (int band = 0; band < MinHasher.BANDS; band++) {
+                int b = band;
+                bands[band] = IntStream.range(1, known.length)
+                        .filter(id -> known[id])
+                        .mapToLong(id -> entry(MinHasher.bandKey(signatures, id * MinHasher.SIZE, b), id))
+                        .sorted()
+                        .toArray();
+            }
+            System.arraycopy(known, 0, inBands, 0, known.length);
+        }
+
+        /**
+         * Drops the band memberships of the post's current signature, before it changes or goes.
+         */
+        void forgetBands(int id) {
+            if (!known[id]) {
+                return;
+            }
+            inBands[id] = false;
+            for (int band = 0; band < MinHasher.BANDS; band++) {
+                long bucket = bucket(band, MinHasher.bandKey(signatures, id * MinHasher.SIZE, band));
+                int[] ids = recentBuckets.get(bucket);
+                if (ids == null) {
+                    continue;
+                }
+                int[] kept = Arrays.stream(ids).filter(other -> other != id).toArray();
+                if (kept.length == 0) {
+                    recentBuckets.remove(bucket);
+                } else if (kept.length < ids.length) {
+                    recentBuckets.put(bucket, kept);
+                }
+            }
+        }
+
+        void addToRecentBuckets(int id) {
+            for (int band = 0; band < MinHasher.BANDS; band++) {
+                long bucket = bucket(band, MinHasher.bandKey(signatures, id * MinHasher.SIZE, band));
+                int[] ids = recentBuckets.get(bucket);
+                if (ids == null) {
+                    recentBuckets.put(bucket, new int[]{id});
+                } else if (ids.length < MAX_BUCKET_SCAN) {
+                    int[] grown = Arrays.copyOf(ids, ids.length + 1);
+                    grown[ids.length] = id;
+                    recentBuckets.put(bucket, grown);
+                }
+            }
+        }
+
+        /**
+         * Candidates of {@code id} as {@code agreement << 32 | candidateId}, best first.
+         */
+        long[] score(int id) {
+            Set<Integer> candidates = new HashSet<>();
+            int offset = id * MinHasher.SIZE;
+            for (int band = 0; band < MinHasher.BANDS; band++) {
+                int key = MinHasher.bandKey(signatures, offset, band);
+                long[] entries = bands[band];
+                int i = lowerBound(entries, entry(key, 0));
+                for (int scanned = 0; i < entries.length && (int) (entries[i] >> 32) == key
+                        && scanned < MAX_BUCKET_SCAN; i++, scanned++) {
+                    int other = (int) entries[i];
+                    if (inBands[other]) {
+                        candidates.add(other);
+                    }
+                }
+                int[] recent = recentBuckets.get(bucket(band, key));
+                if (recent != null) {
+                    for (int other : recent) {
+                        candidates.add(other);
+                    }
+                }
+            }
+            candidates.remove(id);
+
+            long[] scored = new long[candidates.size()];
+            int n = 0;
+            for (int other : candidates) {
+                if (!known[other]) {
+                    continue;
+                }
+                int agreement = MinHasher.agreement(signatures, offset, other * MinHasher.SIZE);
+                if (agreement >= MIN_AGREEMENT) {
+                    scored[n++] = ((long) agreement << 32) | other;
+                }
+            }
+            Arrays.sort(scored, 0, n);
+            long[] best = new long[n];
+            for (int i = 0; i < n; i++) {
+                best[i] = scored[n - 1 - i];
+            }
+            return best;
+        }
+
+        void setRelated(int id, long[] scored) {
+            int base = id * TOP_N;
+            for (int i = 0; i < TOP_N; i++) {
+                related[base + i] = i < scored.length ? (int) scored[i] : 0;
+            }
+        }
+
+        /**
+         * Inserts {@code candidate} into the related list of {@code id} if it beats the weakest entry.
+         */
+        void offerRelated(int id, int candidate, int agreement) {
+            int base = id * TOP_N;
+            int slot = TOP_N;
+            for (int i = 0; i < TOP_N; i++) {
+                int other = related[base + i];
+                if (other == candidate) {
+                    return;
+                }
+                if (slot == TOP_N && (other == 0
+                        || MinHasher.agreement(signatures, id * MinHasher.SIZE, other * MinHasher.SIZE) < agreement)) {
+                    slot = i;
+                }
+            }
+            if (slot == TOP_N) {
+                return;
+            }
+            System.arraycopy(related, base + slot, related, base + slot + 1, TOP_N - slot - 1);
+            related[base + slot] = candidate;
+        }
+
+        private static long bucket(int band, int key) {
+            return ((long) band << 32) | (key & 0xFFFFFFFFL);
+        }
+
+        private static long entry(int key, int id) {
+            return ((long) key << 32) | id;
+        }
+
+        private static int lowerBound(long[] entries, long value) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (entries[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.alibou.book.role;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Makes sure the default roles exist. Seeding runs in the background once the application is
+ * ready instead of holding up startup; a registration that comes first creates its role itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleSeeder {
+
+    static final List<String> DEFAULT_ROLES = List.of("USER", "PRO");
+
+    private final RoleRepository roleRepository;
+
+    private final Map<String, Role> roles = new ConcurrentHashMap<>();
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        DEFAULT_ROLES.forEach(this::getOrCreate);
+    }
+
+    public Role getOrCreate(String name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            role = roleRepository.findByName(name).orElseGet(() -> create(name));
+            roles.put(name, role);
+        }
+        return role;
+    }
+
+    private Role create(String name) {
+        try {
+            return roleRepository.save(Role.builder().name(name).build());
+        } catch (DataIntegrityViolationException e) {
+            // created concurrently, by seed() or another node
+            return roleRepository.findByName(name).orElseThrow(() -> e);
+        }
+    }
+}
@@ -11,9 +11,12 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -33,6 +36,14 @@ public class JwtService {
         return extractClaims(token, Claims::getSubject);
     }
 
+    public String extractTokenId(String token) {
+        return extractClaims(token, Claims::getId);
+    }
+
+    public LocalDateTime extractExpirationTime(String token) {
+        return LocalDateTime.ofInstant(extractExpiration(token).toInstant(), ZoneId.systemDefault());
+    }
+
     private <T> T extractClaims(String token, Function<Claims, T> claimResolver) {
         final Claims claims = extractAllClaims(token);
         return claimResolver.apply(claims);
@@ -66,6 +77,7 @@ public class JwtService {
                 .builder()
                 .setClaims(claims)
                 .setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
                 .claim("authorities", authorities)
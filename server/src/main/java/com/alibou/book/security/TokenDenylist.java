@@ -0,0 +1,93 @@
+package com.alibou.book.security;
+
+import com.alibou.book.user.Token;
+import com.alibou.book.user.TokenRepository;
+import com.alibou.book.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked JWT ids, checked on every authenticated request.
+ * <p>
+ * A Bloom filter answers "certainly not revoked" for almost every token without touching the DB.
+ * Only on a filter hit the exact set is checked, and only if the id is not in there either (a
+ * false positive) the {@code token} table is queried. Both are rebuilt from the table every
+ * {@code application.token-denylist.reload-ms}, which also drops expired tokens.
+ * <p>
+ * A token revoked on another node is not in the local filter, so it is accepted here until the
+ * next reload picks it up. Keep the reload interval short enough for that window.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenDenylist {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    private static final int MIN_CAPACITY = 10_000;
+
+    private final TokenRepository tokenRepository;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+        return tokenRepository.findByToken(tokenId)
+                .map(token -> {
+                    revoked.put(tokenId, token.getExpiredAt());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, LocalDateTime expiresAt, User user) {
+        if (tokenId == null || isRevoked(tokenId)) {
+            return;
+        }
+        Token token = new Token();
+        token.setToken(tokenId);
+        token.setCreatedAt(LocalDateTime.now());
+        token.setExpiredAt(expiresAt);
+        token.setUser(user);
+        tokenRepository.save(token);
+        revoked.put(tokenId, expiresAt);
+        filter.add(tokenId);
+    }
+
+    @Scheduled(
+            initialDelay = 0,
+            fixedDelayString = "${application.token-denylist.reload-ms:60000}"
+    )
+    @Transactional
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = tokenRepository.deleteAllExpired(now);
+        var unexpired = tokenRepository.findAllUnexpired(now);
+
+        BloomFilter fresh = new BloomFilter(Math.max(MIN_CAPACITY, unexpired.size() * 2), FALSE_POSITIVE_RATE);
+        unexpired.forEach(token -> {
+            fresh.add(token.getToken());
+            revoked.put(token.getToken(), token.getExpiredAt());
+        });
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        // ids revoked on this node while reloading are in the map but maybe not in the fresh filter
+        revoked.keySet().forEach(fresh::add);
+        filter = fresh;
+        if (expired > 0) {
+            log.debug("Dropped {} expired revoked tokens, {} still revoked", expired, unexpired.size());
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.alibou.book.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable path-compressed trie answering "best K completions of a prefix".
+ * <p>
+ * Nodes live in parallel int arrays and their labels are slices of the sorted keys, so a node
+ * costs a few ints no matter how long its label is. Every node also stores the entries of its
+ * subtree with the highest weights, computed bottom up at build time, which makes a lookup a
+ * walk down the prefix plus a copy of at most {@link #MAX_K} entries.
+ */
+final class CompletionTrie {
+
+    static final int MAX_K = 10;
+
+    static final CompletionTrie EMPTY = new CompletionTrie.Builder().build();
+
+    private final String[] keys;
+    private final Object[] values;
+
+    // per node: first entry of its subtree, label end (the label starts at the parent's end),
+    // children and best entries as slices of childIds / top
+    private final int[] nodeEntry;
+    private final int[] nodeEnd;
+    private final int[] childStart;
+    private final int[] childCount;
+    private final int[] childIds;
+    private final int[] topStart;
+    private final int[] topCount;
+    private final int[] top;
+
+    private CompletionTrie(String[] keys, Object[] values, NodeArrays nodes) {
+        this.keys = keys;
+        this.values = values;
+        this.nodeEntry = nodes.entry;
+        this.nodeEnd = nodes.end;
+        this.childStart = nodes.childStart;
+        this.childCount = nodes.childCount;
+        this.childIds = nodes.childIds;
+        this.topStart = nodes.topStart;
+        this.topCount = nodes.topCount;
+        this.top = nodes.top;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * Values of the at most {@code limit} heaviest keys starting with {@code prefix}, heaviest first.
+     * The prefix has to be normalized the same way as the keys.
+     */
+    List<Object> complete(String prefix, int limit) {
+        if (keys.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        int node = 0;
+        int depth = 0;
+        while (true) {
+            String label = keys[nodeEntry[node]];
+            int end = nodeEnd[node];
+            for (; depth < end; depth++) {
+                if (depth == prefix.length()) {
+                    return top(node, limit);
+                }
+                if (label.charAt(depth) != prefix.charAt(depth)) {
+                    return List.of();
+                }
+            }
+            if (depth == prefix.length()) {
+                return top(node, limit);
+            }
+            node = child(node, prefix.charAt(depth), depth);
+            if (node < 0) {
+                return List.of();
+            }
+        }
+    }
+
+    private List<Object> top(int node, int limit) {
+        int count = Math.min(limit, topCount[node]);
+        List<Object> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(values[top[topStart[node] + i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Children are sorted by their first character, binary search over them.
+     */
+    private int child(int node, char c, int depth) {
+        int low = childStart[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int candidate = childIds[mid];
+            char first = keys[nodeEntry[candidate]].charAt(depth);
+            if (first < c) {
+                low = mid + 1;
+            } else if (first > c) {
+                high = mid - 1;
+            } else {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Collects entries in any order, a key added twice keeps the higher weight.
+     */
+    static final class Builder {
+
+        private final Map<String, Entry> entries = new TreeMap<>();
+
+        Builder add(String key, long weight, Object value) {
+            if (key == null || key.isEmpty()) {
+                return this;
+            }
+            entries.merge(key, new Entry(weight, value), (old, added) -> added.weight > old.weight ? added : old);
+            return this;
+        }
+
+        CompletionTrie build() {
+            int n = entries.size();
+            String[] keys = new String[n];
+            Object[] values = new Object[n];
+            long[] weights = new long[n];
+            int i = 0;
+            for (var entry : entries.entrySet()) {
+                keys[i] = entry.getKey();
+                weights[i] = entry.getValue().weight();
+                values[i] = entry.getValue().value();
+                i++;
+            }
+            NodeArrays nodes = new NodeArrays(Math.max(1, 2 * n));
+            if (n > 0) {
+                nodes.build(keys, weights, 0, n);
+            }
+            return new CompletionTrie(keys, values, nodes.trim());
+        }
+
+        private record Entry(long weight, Object value) {
+        }
+    }
+
+    /**
+     * Build-time storage, nodes are numbered in pre-order so the root is 0.
+     */
+    private static final class NodeArrays {
+
+        int[] entry;
+        int[] end;
+        int[] childStart;
+        int[] childCount;
+        int[] childIds;
+        int[] topStart;
+        int[] topCount;
+        int[] top;
+        int nodes;
+        int children;
+        int tops;
+
+        NodeArrays(int capacity) {
+            entry = new int[capacity];
+            end = new int[capacity];
+            childStart = new int[capacity];
+            childCount = new int[capacity];
+            childIds = new int[capacity];
+            topStart = new int[capacity];
+            topCount = new int[capacity];
+            top = new int[capacity];
+        }
+
+        /**
+         * Builds the node for the sorted keys {@code [from, to)}. Sorted keys share exactly the
+         * prefix common to the first and the last one, its part below the parent is the label.
+         */
+        int build(String[] keys, long[] weights, int from, int to) {
+            int node = nodes++;
+            ensureNodes(nodes);
+            int labelEnd = commonPrefix(keys[from], keys[to - 1]);
+            entry[node] = from;
+            end[node] = labelEnd;
+
+            List<Integer> kids = new ArrayList<>();
+            int start = from;
+            if (keys[start].length() == labelEnd) {
+                // the label itself is a key, it sorts before all its extensions
+                start++;
+            }
+            while (start < to) {
+                char c = keys[start].charAt(labelEnd);
+                int stop = start + 1;
+                while (stop < to && keys[stop].charAt(labelEnd) == c) {
+                    stop++;
+                }
+                kids.add(build(keys, weights, start, stop));
+                start = stop;
+            }
+
+            ensureChildren(children + kids.size());
+            childStart[node] = children;
+            childCount[node] = kids.size();
+            for (int kid : kids) {
+                childIds[children++] = kid;
+            }
+
+            // best entries: the node's own key plus the best of each child
+            List<Integer> candidates = new ArrayList<>();
+            if (keys[from].length() == labelEnd) {
+                candidates.add(from);
+            }
+            for (int kid : kids) {
+                for (int k = 0; k < topCount[kid]; k++) {
+                    candidates.add(top[topStart[kid] + k]);
+                }
+            }
+            candidates.sort(Comparator.<Integer>comparingLong(e -> weights[e]).reversed()
+                    .thenComparing(e -> keys[e].length()));
+            int count = Math.min(MAX_K, candidates.size());
+            ensureTops(tops + count);
+            topStart[node] = tops;
+            topCount[node] = count;
+            for (int k = 0; k < count; k++) {
+                top[tops++] = candidates.get(k);
+            }
+            return node;
+        }
+
+        NodeArrays trim() {
+            entry = Arrays.copyOf(entry, nodes);
+            end = Arrays.copyOf(end, nodes);
+            childStart = Arrays.copyOf(childStart, nodes);
+            childCount = Arrays.copyOf(childCount, nodes);
+            topStart = Arrays.copyOf(topStart, nodes);
+            topCount = Arrays.copyOf(topCount, nodes);
+            childIds = Arrays.copyOf(childIds, children);
+            top = Arrays.copyOf(top, tops);
+            return this;
+        }
+
+        private void ensureNodes(int capacity) {
+            if (capacity > entry.length) {
+                int grown = capacity + (capacity >> 1);
+                entry = Arrays.copyOf(entry, grown);
+                end = Arrays.copyOf(end, grown);
+                childStart = Arrays.copyOf(childStart, grown);
+                childCount = Arrays.copyOf(childCount, grown);
+                topStart = Arrays.copyOf(topStart, grown);
+                topCount = Arrays.copyOf(topCount, grown);
+            }
+        }
+
+        private void ensureChildren(int capacity) {
+            if (capacity > childIds.length) {
+                childIds = Arrays.copyOf(childIds, capacity + (capacity >> 1));
+            }
+        }
+
+        private void ensureTops(int capacity) {
+            if (capacity > top.length) {
+                top = Arrays.copyOf(top, capacity + (capacity >> 1));
+            }
+        }
+
+        private static int commonPrefix(String a, String b) {
+            int max = Math.min(a.length(), b.length());
+            int i = 0;
+            while (i < max && a.charAt(i) == b.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
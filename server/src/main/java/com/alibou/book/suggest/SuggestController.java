@@ -0,0 +1,29 @@
+package com.alibou.book.suggest;
+
+import com.alibou.book.post.PostResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("suggest")
+@RequiredArgsConstructor
+@Tag(name = "Suggest")
+public class SuggestController {
+
+    private final SuggestService suggestService;
+
+    // type is TAG or TITLE, both when missing
+    @GetMapping("get-suggestions")
+    public ResponseEntity<PostResponse> getSuggestions(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(required = false) Suggestion.Type type,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        return suggestService.getSuggestions(prefix, type, limit);
+    }
+}
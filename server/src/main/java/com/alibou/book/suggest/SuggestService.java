@@ -0,0 +1,151 @@
+package com.alibou.book.suggest;
+
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostResponse;
+import com.alibou.book.post.PostTitle;
+import com.alibou.book.post.TagUsage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Prefix suggestions for tag names and post titles.
+ * <p>
+ * Both are served from immutable {@link CompletionTrie}s that are rebuilt from two projection
+ * queries in the background and swapped in with a single volatile write, lookups never touch
+ * the DB or wait for a rebuild. Tags are weighted by the number of posts using them, titles by
+ * the engagement of their post. Post changes only mark the tries as stale, they are rebuilt
+ * every {@code application.suggest.refresh-ms} when something changed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SuggestService {
+
+    private final PostRepository postRepository;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Tries tries = new Tries(CompletionTrie.EMPTY, CompletionTrie.EMPTY);
+    private volatile boolean stale = false;
+
+    /**
+     * Tag suggestions first, then titles, each at most {@code limit}. {@code type} restricts
+     * the result to one of them.
+     */
+    public List<Object> suggest(String prefix, Suggestion.Type type, int limit) {
+        String key = normalize(prefix);
+        int k = Math.min(Math.max(limit, 0), CompletionTrie.MAX_K);
+        Tries current = tries;
+        List<Object> suggestions = new ArrayList<>();
+        if (type == null || type == Suggestion.Type.TAG) {
+            suggestions.addAll(current.tags().complete(key, k));
+        }
+        if (type == null || type == Suggestion.Type.TITLE) {
+            suggestions.addAll(current.titles().complete(key, k));
+        }
+        return suggestions;
+    }
+
+    public ResponseEntity<PostResponse> getSuggestions(String prefix, Suggestion.Type type, int limit) {
+        List<Object> suggestions = suggest(prefix, type, limit);
+        return new ResponseEntity<>(
+                PostResponse.builder()
+                        .success(true)
+                        .message(suggestions.isEmpty() ? "No suggestions found" : "Suggestions fetched successfully")
+                        .content(suggestions)
+                        .build(),
+                HttpStatus.OK
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED, DELETED -> stale = true;
+            default -> {
+            }
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.suggest.refresh-ms:30000}",
+            fixedDelayString = "${application.suggest.refresh-ms:30000}"
+    )
+    public void refresh() {
+        if (stale) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Full rebuild, also picks up engagement changes that come without a post event.
+     */
+    @Scheduled(cron = "${application.suggest.rebuild-cron:0 */15 * * * *}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            // changes from here on are caught by the next refresh
+            stale = false;
+
+            var tags = new CompletionTrie.Builder();
+            for (TagUsage usage : postRepository.findTagUsage()) {
+                String name = normalize(usage.getName());
+                tags.add(name, usage.getUses(), new Suggestion(Suggestion.Type.TAG, name, usage.getUses(), null));
+            }
+            var titles = new CompletionTrie.Builder();
+            for (PostTitle post : postRepository.findAllTitles()) {
+                long weight = popularity(post);
+                titles.add(normalize(post.getTitle()), weight,
+                        new Suggestion(Suggestion.Type.TITLE, post.getTitle(), weight, post.getId()));
+            }
+            Tries fresh = new Tries(tags.build(), titles.build());
+            tries = fresh;
+            log.debug("Rebuilt suggestions for {} tags and {} titles in {} ms", fresh.tags().size(),
+                    fresh.titles().size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            stale = true;
+            log.warn("Could not rebuild suggestions", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    static long popularity(PostTitle post) {
+        return 1 + post.getLikes() + 2L * post.getBookmarks() + 3L * post.getShares() + post.getUniqueReaders();
+    }
+
+    /**
+     * Lower case with single spaces, applied to keys and prefixes alike.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Tries(CompletionTrie tags, CompletionTrie titles) {
+    }
+}
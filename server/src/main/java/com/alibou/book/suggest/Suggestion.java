@@ -0,0 +1,12 @@
+package com.alibou.book.suggest;
+
+/**
+ * One autocomplete entry. {@code postId} is only set for titles.
+ */
+public record Suggestion(Type type, String text, long weight, Integer postId) {
+
+    public enum Type {
+        TAG,
+        TITLE
+    }
+}
@@ -0,0 +1,70 @@
+package com.alibou.book.syndication;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Public feeds and sitemap. Responses carry the ETag of the cached bytes, a request with a
+ * matching If-None-Match gets 304 without a body.
+ */
+@RestController
+@RequestMapping("syndication")
+@RequiredArgsConstructor
+@Tag(name = "Syndication")
+public class SyndicationController {
+
+    private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+    private static final MediaType ATOM = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+    private static final MediaType XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+
+    private final SyndicationService syndicationService;
+
+    @GetMapping("rss")
+    public ResponseEntity<byte[]> getRss(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String tag
+    ) {
+        return serve(syndicationService.getFeed(SyndicationService.Format.RSS, category, tag), RSS);
+    }
+
+    @GetMapping("atom")
+    public ResponseEntity<byte[]> getAtom(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String tag
+    ) {
+        return serve(syndicationService.getFeed(SyndicationService.Format.ATOM, category, tag), ATOM);
+    }
+
+    @GetMapping("sitemap.xml")
+    public ResponseEntity<byte[]> getSitemapIndex() {
+        return serve(syndicationService.getSitemapIndex(), XML);
+    }
+
+    @GetMapping("sitemap-{chunk}.xml")
+    public ResponseEntity<byte[]> getSitemap(@PathVariable int chunk) {
+        SyndicationDocument document = syndicationService.getSitemap(chunk);
+        if (document == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return serve(document, XML);
+    }
+
+    // the response is checked against If-None-Match when it is written
+    private static ResponseEntity<byte[]> serve(SyndicationDocument document, MediaType type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(type);
+        headers.setETag(document.etag());
+        headers.setCacheControl(CacheControl.noCache().cachePublic());
+        return new ResponseEntity<>(document.bytes(), headers, HttpStatus.OK);
+    }
+}
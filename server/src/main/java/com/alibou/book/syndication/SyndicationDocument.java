@@ -0,0 +1,16 @@
+package com.alibou.book.syndication;
+
+import org.springframework.util.DigestUtils;
+
+import java.util.Set;
+
+/**
+ * A generated feed or sitemap as served, with the ids of the posts it lists so a change to one
+ * of them can drop it.
+ */
+record SyndicationDocument(byte[] bytes, String etag, Set<Integer> postIds) {
+
+    static SyndicationDocument of(byte[] bytes, Set<Integer> postIds) {
+        return new SyndicationDocument(bytes, "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"", postIds);
+    }
+}
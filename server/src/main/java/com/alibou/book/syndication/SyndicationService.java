@@ -0,0 +1,212 @@
+package com.alibou.book.syndication;
+
+import com.alibou.book.cache.SingleFlight;
+import com.alibou.book.cache.SingleFlightRegistry;
+import com.alibou.book.comment.Tag;
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostService;
+import com.alibou.book.post.PostSitemapEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * RSS and Atom feeds (all posts, per category, per tag) and a sitemap split into chunks of
+ * {@code sitemap-chunk-size} post ids.
+ * <p>
+ * Every document is generated once and kept as bytes until a post change affects it: a new
+ * post drops the feeds it belongs in, any change drops the documents listing the post and its
+ * sitemap chunk. Everything else stays cached, and the next request regenerates only what was
+ * dropped. Concurrent requests for a dropped document share one generation.
+ * <p>
+ * Links to this API are built from {@code application.syndication.site-url} and the context
+ * path, never from the request: the documents are shared by every client and cached publicly.
+ */
+@Service
+public class SyndicationService {
+
+    public enum Format {
+        RSS,
+        ATOM
+    }
+
+    private static final String SITEMAP_INDEX = "sitemap:index";
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<String, SyndicationDocument> flight;
+    private final SyndicationWriter writer;
+    private final String apiUrl;
+    private final int feedSize;
+    private final int chunkSize;
+
+    private final Map<String, SyndicationDocument> documents = new ConcurrentHashMap<>();
+    // counts post changes, a document generated while one happened may miss it and is not kept
+    private final AtomicLong changes = new AtomicLong();
+
+    public SyndicationService(PostRepository postRepository,
+                              PostService postService,
+                              PlatformTransactionManager transactionManager,
+                              SingleFlightRegistry singleFlights,
+                              @Value("${application.syndication.site-url:http://localhost:5173}") String siteUrl,
+                              @Value("${server.servlet.context-path:}") String contextPath,
+                              @Value("${application.syndication.title:Blogging Platform}") String title,
+                              @Value("${application.syndication.feed-size:50}") int feedSize,
+                              @Value("${application.syndication.sitemap-chunk-size:10000}") int chunkSize) {
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.flight = singleFlights.create("syndication");
+        this.writer = new SyndicationWriter(siteUrl, title);
+        this.apiUrl = UriComponentsBuilder.fromHttpUrl(siteUrl).path(contextPath).build().toUriString()
+                .replaceAll("/+$", "");
+        this.feedSize = feedSize;
+        // a sitemap may list at most 50 000 urls
+        this.chunkSize = Math.min(chunkSize, 50_000);
+    }
+
+    /**
+     * The feed of all posts, or of one category or tag when given.
+     */
+    public SyndicationDocument getFeed(Format format, String category, String tag) {
+        String scope = category != null ? "category:" + category.toLowerCase(Locale.ROOT)
+                : tag != null ? "tag:" + tag.toLowerCase(Locale.ROOT)
+                : "all";
+        String subtitle = category != null ? category : tag;
+        return cached(feedKey(format, scope), () -> {
+            List<Integer> ids = category != null ? postRepository.findRecentIdsByCategory(category, PageRequest.of(0, feedSize))
+                    : tag != null ? postRepository.findRecentIdsByTag(tag, PageRequest.of(0, feedSize))
+                    : postRepository.findRecentIds(PageRequest.of(0, feedSize));
+            List<Post> posts = postService.findAllInOrder(ids);
+            byte[] bytes = format == Format.RSS ? writer.rss(subtitle, posts)
+                    : writer.atom(subtitle, selfUrl(format, category, tag), posts);
+            return SyndicationDocument.of(bytes, new HashSet<>(ids));
+        }, category != null || tag != null);
+    }
+
+    /**
+     * Lists the sitemap chunks.
+     */
+    public SyndicationDocument getSitemapIndex() {
+        return cached(SITEMAP_INDEX, () -> {
+            List<String> urls = new ArrayList<>();
+            for (int chunk = 0; chunk < chunks(); chunk++) {
+                urls.add(apiUrl + "/syndication/sitemap-" + chunk + ".xml");
+            }
+            return SyndicationDocument.of(writer.sitemapIndex(urls), Set.of());
+        }, false);
+    }
+
+    /**
+     * One chunk of the sitemap, {@code null} if there is no such chunk.
+     */
+    public SyndicationDocument getSitemap(int chunk) {
+        SyndicationDocument document = documents.get(sitemapKey(chunk));
+        if (document != null) {
+            return document;
+        }
+        if (chunk < 0 || chunk >= chunks()) {
+            return null;
+        }
+        return cached(sitemapKey(chunk), () -> {
+            List<PostSitemapEntry> entries = postRepository.findSitemapEntries(chunk * chunkSize, (chunk + 1) * chunkSize);
+            Set<Integer> ids = new HashSet<>();
+            entries.forEach(entry -> ids.add(entry.getId()));
+            return SyndicationDocument.of(writer.sitemap(entries), ids);
+        }, false);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        if (event.type() == PostEvent.Type.BOOKMARKED) {
+            return;
+        }
+        changes.incrementAndGet();
+        Post post = event.post();
+        Set<String> affected = new HashSet<>();
+        affected.add(sitemapKey((post.getId() - 1) / chunkSize));
+        if (event.type() != PostEvent.Type.UPDATED) {
+            affected.add(SITEMAP_INDEX);
+        }
+        if (event.type() != PostEvent.Type.DELETED) {
+            // feeds the post belongs in now, the ones it was in before list its id
+            for (Format format : Format.values()) {
+                affected.add(feedKey(format, "all"));
+                if (post.getCategory() != null) {
+                    affected.add(feedKey(format, "category:" + post.getCategory().toLowerCase(Locale.ROOT)));
+                }
+                if (post.getTags() != null) {
+                    for (Tag tag : post.getTags()) {
+                        affected.add(feedKey(format, "tag:" + tag.getName().toLowerCase(Locale.ROOT)));
+                    }
+                }
+            }
+        }
+        documents.entrySet().removeIf(entry -> affected.contains(entry.getKey())
+                || entry.getValue().postIds().contains(post.getId()));
+    }
+
+    int cachedDocuments() {
+        return documents.size();
+    }
+
+    private SyndicationDocument cached(String key, Supplier<SyndicationDocument> generator, boolean scoped) {
+        SyndicationDocument document = documents.get(key);
+        if (document != null) {
+            return document;
+        }
+        return flight.load(key, () -> {
+            long before = changes.get();
+            SyndicationDocument generated = readOnlyTransaction.execute(status -> generator.get());
+            // empty scoped feeds are not kept, any category or tag name can be asked for
+            boolean keep = !(scoped && generated.postIds().isEmpty());
+            if (keep && changes.get() == before) {
+                documents.put(key, generated);
+            }
+            return generated;
+        });
+    }
+
+    private int chunks() {
+        Integer maxId = postRepository.findMaxId();
+        return maxId == null ? 0 : (maxId + chunkSize - 1) / chunkSize;
+    }
+
+    // one feed is kept per scope whatever the case of the request, so is its link
+    private String selfUrl(Format format, String category, String tag) {
+        UriComponentsBuilder url = UriComponentsBuilder.fromHttpUrl(apiUrl)
+                .path("/syndication/" + format.name().toLowerCase(Locale.ROOT));
+        if (category != null) {
+            url.queryParam("category", category.toLowerCase(Locale.ROOT));
+        } else if (tag != null) {
+            url.queryParam("tag", tag.toLowerCase(Locale.ROOT));
+        }
+        return url.encode().build().toUriString();
+    }
+
+    private static String feedKey(Format format, String scope) {
+        return format.name().toLowerCase(Locale.ROOT) + ":" + scope;
+    }
+
+    private static String sitemapKey(int chunk) {
+        return "sitemap:" + chunk;
+    }
+}
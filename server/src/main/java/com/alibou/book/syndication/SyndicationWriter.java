@@ -0,0 +1,202 @@
+package com.alibou.book.syndication;
+
+import com.alibou.book.comment.Tag;
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostSitemapEntry;
+import com.alibou.book.user.User;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes feeds and sitemaps element by element with StAX, straight into the bytes that are
+ * cached and served. Nothing is built as a tree first.
+ */
+final class SyndicationWriter {
+
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newFactory();
+    private static final String ATOM = "http://www.w3.org/2005/Atom";
+    private static final String SITEMAP = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private final String siteUrl;
+    private final String title;
+
+    SyndicationWriter(String siteUrl, String title) {
+        this.siteUrl = siteUrl.endsWith("/") ? siteUrl.substring(0, siteUrl.length() - 1) : siteUrl;
+        this.title = title;
+    }
+
+    byte[] rss(String subtitle, List<Post> posts) {
+        return write(xml -> {
+            xml.writeStartElement("rss");
+            xml.writeAttribute("version", "2.0");
+            xml.writeStartElement("channel");
+            element(xml, "title", subtitle == null ? title : title + " - " + subtitle);
+            element(xml, "link", siteUrl + "/");
+            element(xml, "description", subtitle == null ? "Latest posts" : "Latest posts in " + subtitle);
+            if (!posts.isEmpty()) {
+                element(xml, "lastBuildDate", rfc1123(updated(posts.get(0))));
+            }
+            for (Post post : posts) {
+                xml.writeStartElement("item");
+                element(xml, "title", post.getTitle());
+                element(xml, "link", link(post));
+                xml.writeStartElement("guid");
+                xml.writeAttribute("isPermaLink", "true");
+                xml.writeCharacters(link(post));
+                xml.writeEndElement();
+                element(xml, "description", post.getExcerpt());
+                element(xml, "pubDate", rfc1123(post.getCreatedDate()));
+                for (String category : categories(post)) {
+                    element(xml, "category", category);
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeEndElement();
+        });
+    }
+
+    byte[] atom(String subtitle, String selfUrl, List<Post> posts) {
+        return write(xml -> {
+            xml.setDefaultNamespace(ATOM);
+            xml.writeStartElement("feed");
+            xml.writeDefaultNamespace(ATOM);
+            element(xml, "id", selfUrl);
+            element(xml, "title", subtitle == null ? title : title + " - " + subtitle);
+            element(xml, "updated", iso(posts.isEmpty() ? LocalDate.now() : updated(posts.get(0))));
+            link(xml, siteUrl + "/", null);
+            link(xml, selfUrl, "self");
+            for (Post post : posts) {
+                xml.writeStartElement("entry");
+                element(xml, "id", link(post));
+                element(xml, "title", post.getTitle());
+                link(xml, link(post), null);
+                element(xml, "published", iso(post.getCreatedDate()));
+                element(xml, "updated", iso(updated(post)));
+                xml.writeStartElement("author");
+                element(xml, "name", authorName(post.getAuthor()));
+                xml.writeEndElement();
+                element(xml, "summary", post.getExcerpt());
+                for (String category : categories(post)) {
+                    xml.writeEmptyElement("category");
+                    xml.writeAttribute("term", category);
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    byte[] sitemapIndex(List<String> chunkUrls) {
+        return write(xml -> {
+            xml.setDefaultNamespace(SITEMAP);
+            xml.writeStartElement("sitemapindex");
+            xml.writeDefaultNamespace(SITEMAP);
+            for (String url : chunkUrls) {
+                xml.writeStartElement("sitemap");
+                element(xml, "loc", url);
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    byte[] sitemap(List<PostSitemapEntry> entries) {
+        return write(xml -> {
+            xml.setDefaultNamespace(SITEMAP);
+            xml.writeStartElement("urlset");
+            xml.writeDefaultNamespace(SITEMAP);
+            for (PostSitemapEntry entry : entries) {
+                xml.writeStartElement("url");
+                element(xml, "loc", siteUrl + "/post/" + entry.getId());
+                LocalDate modified = entry.getLastModifiedDate() != null ? entry.getLastModifiedDate() : entry.getCreatedDate();
+                if (modified != null) {
+                    element(xml, "lastmod", modified.toString());
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    private byte[] write(Body body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        try {
+            XMLStreamWriter xml = FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            body.write(xml);
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Could not write feed", e);
+        }
+        return out.toByteArray();
+    }
+
+    private String link(Post post) {
+        return siteUrl + "/post/" + post.getId();
+    }
+
+    private static void link(XMLStreamWriter xml, String href, String rel) throws XMLStreamException {
+        xml.writeEmptyElement("link");
+        if (rel != null) {
+            xml.writeAttribute("rel", rel);
+        }
+        xml.writeAttribute("href", href);
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        if (text == null) {
+            return;
+        }
+        xml.writeStartElement(name);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+    }
+
+    private static List<String> categories(Post post) {
+        List<String> categories = new ArrayList<>();
+        if (post.getCategory() != null) {
+            categories.add(post.getCategory());
+        }
+        if (post.getTags() != null) {
+            post.getTags().stream().map(Tag::getName).forEach(categories::add);
+        }
+        return categories;
+    }
+
+    private static String authorName(User author) {
+        if (author == null) {
+            return "Unknown";
+        }
+        String name = ((author.getFirstname() == null ? "" : author.getFirstname()) + " "
+                + (author.getLastname() == null ? "" : author.getLastname())).trim();
+        return name.isEmpty() ? "Unknown" : name;
+    }
+
+    private static LocalDate updated(Post post) {
+        return post.getLastModifiedDate() != null ? post.getLastModifiedDate() : post.getCreatedDate();
+    }
+
+    private static String rfc1123(LocalDate date) {
+        return date == null ? null : DateTimeFormatter.RFC_1123_DATE_TIME.format(date.atStartOfDay(ZoneOffset.UTC));
+    }
+
+    private static String iso(LocalDate date) {
+        return date == null ? null : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(date.atStartOfDay(ZoneOffset.UTC));
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(XMLStreamWriter xml) throws XMLStreamException;
+    }
+}
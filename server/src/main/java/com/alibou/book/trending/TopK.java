@@ -0,0 +1,144 @@
+package com.alibou.book.trending;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded min-heap of the K best scored post ids, with an id -> heap slot index so a score
+ * can be updated or removed in O(log K). The sorted view is cached until the next change,
+ * which makes reads O(K).
+ */
+class TopK {
+
+    private final int capacity;
+    private final int[] ids;
+    private final double[] scores;
+    private final Map<Integer, Integer> slots = new HashMap<>();
+    private int size = 0;
+
+    private volatile List<Integer> sorted = List.of();
+    private volatile boolean dirty = false;
+
+    TopK(int capacity) {
+        this.capacity = capacity;
+        this.ids = new int[capacity];
+        this.scores = new double[capacity];
+    }
+
+    synchronized void offer(int id, double score) {
+        Integer slot = slots.get(id);
+        if (slot != null) {
+            double old = scores[slot];
+            scores[slot] = score;
+            if (score < old) {
+                siftUp(slot);
+            } else {
+                siftDown(slot);
+            }
+        } else if (size < capacity) {
+            ids[size] = id;
+            scores[size] = score;
+            slots.put(id, size);
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            slots.remove(ids[0]);
+            ids[0] = id;
+            scores[0] = score;
+            slots.put(id, 0);
+            siftDown(0);
+        } else {
+            return;
+        }
+        dirty = true;
+    }
+
+    synchronized void remove(int id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        size--;
+        if (slot != size) {
+            move(size, slot);
+            siftUp(slot);
+            siftDown(slot);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Ids ordered by descending score, at most {@code limit} of them.
+     */
+    List<Integer> top(int limit) {
+        List<Integer> view = sorted;
+        if (dirty) {
+            view = rebuildSorted();
+        }
+        return view.size() <= limit ? view : view.subList(0, Math.max(limit, 0));
+    }
+
+    private synchronized List<Integer> rebuildSorted() {
+        if (!dirty) {
+            return sorted;
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+        Integer[] result = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = ids[order[i]];
+        }
+        sorted = List.of(result);
+        dirty = false;
+        return sorted;
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (scores[parent] <= scores[slot]) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int smallest = slot;
+            int left = 2 * slot + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == slot) {
+                return;
+            }
+            swap(slot, smallest);
+            slot = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        double score = scores[a];
+        move(b, a);
+        ids[b] = id;
+        scores[b] = score;
+        slots.put(id, b);
+    }
+
+    private void move(int from, int to) {
+        ids[to] = ids[from];
+        scores[to] = scores[from];
+        slots.put(ids[to], to);
+    }
+}
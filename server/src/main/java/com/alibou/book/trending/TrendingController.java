@@ -0,0 +1,27 @@
+package com.alibou.book.trending;
+
+import com.alibou.book.post.PostResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("trending")
+@RequiredArgsConstructor
+@Tag(name = "Trending")
+public class TrendingController {
+
+    private final TrendingService trendingService;
+
+    @GetMapping("get-trending")
+    public ResponseEntity<PostResponse> getTrending(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return trendingService.getTrending(category, limit);
+    }
+}
@@ -0,0 +1,150 @@
+package com.alibou.book.trending;
+
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostEngagement;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostResponse;
+import com.alibou.book.post.PostService;
+import com.alibou.book.post.PostSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    static final int CAPACITY = 100;
+
+    /**
+     * A post needs 10x the engagement of one created this many seconds earlier to rank equally.
+     */
+    private static final double DECAY_SECONDS = 45000;
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+
+    private volatile TopK global = new TopK(CAPACITY);
+    private volatile Map<String, TopK> byCategory = new ConcurrentHashMap<>();
+
+    /**
+     * Reddit style hot score: the age is folded in as an offset on the log scale, so scores
+     * never have to be recomputed as time passes, newer posts simply start higher.
+     */
+    static double hotScore(int likes, int bookmarks, int shares, LocalDate createdDate) {
+        double engagement = likes + 2.0 * bookmarks + 3.0 * shares;
+        long createdSeconds = createdDate != null ? createdDate.toEpochDay() * 86400 : 0;
+        return Math.log10(Math.max(engagement, 1)) + createdSeconds / DECAY_SECONDS;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        Post post = event.post();
+        switch (event.type()) {
+            case DELETED -> remove(post.getId());
+            case UPDATED -> {
+                remove(post.getId());
+                offer(global, byCategory, post.getId(), post.getCategory(), score(post));
+            }
+            default -> offer(global, byCategory, post.getId(), post.getCategory(), score(post));
+        }
+    }
+
+    /**
+     * Rebuilds the rankings from the counters in the DB, correcting anything that changed
+     * without an event (other nodes, manual updates, lost events).
+     */
+    @Scheduled(
+            initialDelayString = "${application.trending.initial-delay-ms:0}",
+            fixedDelayString = "${application.trending.reconcile-ms:300000}"
+    )
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        List<PostEngagement> rows = postRepository.findAllEngagement();
+        TopK newGlobal = new TopK(CAPACITY);
+        Map<String, TopK> newByCategory = new ConcurrentHashMap<>();
+        for (PostEngagement row : rows) {
+            double score = hotScore(row.getLikes(), row.getBookmarks(), row.getShares(), row.getCreatedDate());
+            offer(newGlobal, newByCategory, row.getId(), row.getCategory(), score);
+        }
+        global = newGlobal;
+        byCategory = newByCategory;
+        log.debug("Reconciled trending posts from {} rows in {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    public List<Integer> getTrendingIds(String category, int limit) {
+        if (category == null) {
+            return global.top(limit);
+        }
+        TopK ranking = byCategory.get(normalize(category));
+        return ranking != null ? ranking.top(limit) : List.of();
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<PostResponse> getTrending(String category, int limit) {
+        try {
+            List<Integer> ids = getTrendingIds(category, Math.min(Math.max(limit, 0), CAPACITY));
+            if (ids.isEmpty()) {
+                return new ResponseEntity<>(
+                        PostResponse.builder()
+                                .success(false)
+                                .message("No trending posts found")
+                                .content(null)
+                                .build(),
+                        HttpStatus.NOT_FOUND
+                );
+            }
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(true)
+                            .message("Trending posts fetched successfully")
+                            .content(PostSummary.fromAll(postService.findAllInOrder(ids)))
+                            .build(),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Error fetching trending posts: " + e.getMessage())
+                            .content(null)
+                            .build(),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    private void remove(Integer id) {
+        global.remove(id);
+        byCategory.values().forEach(ranking -> ranking.remove(id));
+    }
+
+    private static void offer(TopK global, Map<String, TopK> byCategory, Integer id, String category, double score) {
+        global.offer(id, score);
+        if (category != null && !category.isBlank()) {
+            byCategory.computeIfAbsent(normalize(category), c -> new TopK(CAPACITY)).offer(id, score);
+        }
+    }
+
+    private static double score(Post post) {
+        return hotScore(post.getLikes(), post.getBookmarks(), post.getShares(), post.getCreatedDate());
+    }
+
+    private static String normalize(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -16,6 +16,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(
+        name = "token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_token_token", columnNames = "token"),
+        indexes = @Index(name = "idx_token_expired_at", columnList = "expired_at")
+)
 public class Token {
 
     @Id
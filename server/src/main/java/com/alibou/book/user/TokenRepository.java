@@ -1,10 +1,28 @@
 package com.alibou.book.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface TokenRepository extends JpaRepository<Token, Integer> {
 
     Optional<Token> findByToken (String token);
+
+    @Query("SELECT t.token AS token, t.expiredAt AS expiredAt FROM Token t WHERE t.expiredAt > :now")
+    List<RevokedToken> findAllUnexpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Token t WHERE t.expiredAt <= :now")
+    int deleteAllExpired(@Param("now") LocalDateTime now);
+
+    interface RevokedToken {
+        String getToken();
+
+        LocalDateTime getExpiredAt();
+    }
 }
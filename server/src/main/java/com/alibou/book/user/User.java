@@ -26,7 +26,7 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "user")
+@Table(name = "user", uniqueConstraints = @UniqueConstraint(name = "uk_user_email", columnNames = "email"))
 @EntityListeners(AuditingEntityListener.class)
 public class User implements UserDetails, Principal {
 
@@ -62,7 +62,8 @@ public class User implements UserDetails, Principal {
     @JoinTable(
             name = "user_bookmarks",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "post_id")
+            inverseJoinColumns = @JoinColumn(name = "post_id"),
+            indexes = @Index(name = "idx_user_bookmarks_user_post", columnList = "user_id, post_id")
     )
     @JsonIgnore
     private Set<Post> bookmarkedPosts = new HashSet<>();
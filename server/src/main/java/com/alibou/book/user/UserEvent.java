@@ -0,0 +1,16 @@
+package com.alibou.book.user;
+
+/**
+ * Published when an account changed in a way cached per-user state must not outlive,
+ * {@code remote} when the change was made on another node.
+ */
+public record UserEvent(Type type, Integer userId, boolean remote) {
+
+    public enum Type {
+        DISABLED
+    }
+
+    public UserEvent(Type type, Integer userId) {
+        this(type, userId, false);
+    }
+}
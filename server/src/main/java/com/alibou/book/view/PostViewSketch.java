@@ -0,0 +1,39 @@
+package com.alibou.book.view;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Serialized {@link HyperLogLog} of the readers of one post on one day, or of all time when
+ * {@code viewDate} is {@link #ALL_TIME}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+        name = "post_view_sketch",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"post_id", "view_date"})
+)
+public class PostViewSketch {
+
+    public static final LocalDate ALL_TIME = LocalDate.EPOCH;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Integer postId;
+
+    @Column(name = "view_date", nullable = false)
+    private LocalDate viewDate;
+
+    @Lob
+    @Column(nullable = false, length = 65_535)
+    private byte[] sketch;
+}
@@ -0,0 +1,21 @@
+package com.alibou.book.view;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface PostViewSketchRepository extends JpaRepository<PostViewSketch, Long> {
+
+    Optional<PostViewSketch> findByPostIdAndViewDate(Integer postId, LocalDate viewDate);
+
+    List<PostViewSketch> findByPostIdAndViewDateBetween(Integer postId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM PostViewSketch s WHERE s.viewDate < :before AND s.viewDate <> :allTime")
+    int deleteDailyBefore(@Param("before") LocalDate before, @Param("allTime") LocalDate allTime);
+}
@@ -0,0 +1,14 @@
+package com.alibou.book.view;
+
+/**
+ * View counts of a post; the unique reader counts are HyperLogLog estimates.
+ */
+public record PostViews(
+        Integer postId,
+        long views,
+        long uniqueReaders,
+        long uniqueReadersToday,
+        long uniqueReadersLastWeek,
+        long uniqueReadersLastMonth
+) {
+}
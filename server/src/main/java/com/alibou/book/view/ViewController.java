@@ -0,0 +1,24 @@
+package com.alibou.book.view;
+
+import com.alibou.book.post.PostResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("view")
+@RequiredArgsConstructor
+@Tag(name = "View")
+public class ViewController {
+
+    private final ViewService viewService;
+
+    @GetMapping("get-views/{id}")
+    public ResponseEntity<PostResponse> getViews(@PathVariable Integer id) {
+        return viewService.getViews(id);
+    }
+}
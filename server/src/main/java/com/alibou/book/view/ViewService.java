@@ -0,0 +1,203 @@
+package com.alibou.book.view;
+
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts post views and unique readers without a row per view.
+ * <p>
+ * Views go into a {@link LongAdder} per post, readers into a {@link HyperLogLog} per post and day.
+ * Both only hold what happened since the last flush, which adds the view counts to
+ * {@code post.views} and merges the sketches into the persisted daily and all-time sketches.
+ * Unique readers over a range of days are the merge of the daily sketches in it.
+ */
+@Slf4j
+@Service
+public class ViewService {
+
+    private final PostRepository postRepository;
+    private final PostViewSketchRepository sketchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+
+    private final Map<Integer, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    private final Map<SketchKey, HyperLogLog> pendingReaders = new ConcurrentHashMap<>();
+
+    private record SketchKey(Integer postId, LocalDate day) {
+    }
+
+    public ViewService(PostRepository postRepository,
+                       PostViewSketchRepository sketchRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${application.views.retention-days:90}") int retentionDays) {
+        this.postRepository = postRepository;
+        this.sketchRepository = sketchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+    }
+
+    public void record(Integer postId, Integer userId) {
+        pendingViews.computeIfAbsent(postId, id -> new LongAdder()).increment();
+        // compute holds the entry while offering, so a concurrent flush cannot lose the reader
+        pendingReaders.compute(new SketchKey(postId, LocalDate.now()), (key, sketch) -> {
+            HyperLogLog readers = sketch != null ? sketch : new HyperLogLog();
+            readers.offer(userId);
+            return readers;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<PostResponse> getViews(Integer postId) {
+        try {
+            var post = postRepository.findById(postId).orElse(null);
+            if (post == null) {
+                return new ResponseEntity<>(
+                        PostResponse.builder()
+                                .success(false)
+                                .message("No post found with id: " + postId)
+                                .content(null)
+                                .build(),
+                        HttpStatus.NOT_FOUND
+                );
+            }
+            LocalDate today = LocalDate.now();
+            LongAdder pending = pendingViews.get(postId);
+            PostViews views = new PostViews(
+                    postId,
+                    post.getViews() + (pending != null ? pending.sum() : 0),
+                    uniqueReaders(postId, PostViewSketch.ALL_TIME, today),
+                    uniqueReaders(postId, today, today),
+                    uniqueReaders(postId, today.minusDays(6), today),
+                    uniqueReaders(postId, today.minusDays(29), today)
+            );
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(true)
+                            .message("Views fetched successfully")
+                            .content(Collections.singletonList(views))
+                            .build(),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    PostResponse.builder()
+                            .success(false)
+                            .message("Error fetching views: " + e.getMessage())
+                            .content(null)
+                            .build(),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    /**
+     * Distinct readers between both days, inclusive. Starting at {@link PostViewSketch#ALL_TIME}
+     * reads the all-time sketch instead of every daily one.
+     */
+    public long uniqueReaders(Integer postId, LocalDate from, LocalDate to) {
+        HyperLogLog union = new HyperLogLog();
+        if (from.equals(PostViewSketch.ALL_TIME)) {
+            sketchRepository.findByPostIdAndViewDate(postId, PostViewSketch.ALL_TIME)
+                    .ifPresent(row -> union.merge(HyperLogLog.fromBytes(row.getSketch())));
+            pendingReaders.forEach((key, sketch) -> {
+                if (key.postId().equals(postId)) {
+                    union.merge(sketch);
+                }
+            });
+            return union.estimate();
+        }
+        for (PostViewSketch row : sketchRepository.findByPostIdAndViewDateBetween(postId, from, to)) {
+            union.merge(HyperLogLog.fromBytes(row.getSketch()));
+        }
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            HyperLogLog pending = pendingReaders.get(new SketchKey(postId, day));
+            if (pending != null) {
+                union.merge(pending);
+            }
+        }
+        return union.estimate();
+    }
+
+    @Scheduled(fixedDelayString = "${application.views.flush-ms:60000}")
+    public void flush() {
+        for (Map.Entry<Integer, LongAdder> entry : pendingViews.entrySet()) {
+            long views = entry.getValue().sumThenReset();
+            if (views == 0) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> postRepository.addViews(entry.getKey(), views));
+            } catch (RuntimeException e) {
+                entry.getValue().add(views);
+                log.warn("Could not flush views of post {}", entry.getKey(), e);
+            }
+        }
+
+        Map<Integer, List<Map.Entry<LocalDate, HyperLogLog>>> byPost = new HashMap<>();
+        for (SketchKey key : new ArrayList<>(pendingReaders.keySet())) {
+            HyperLogLog sketch = pendingReaders.remove(key);
+            if (sketch != null) {
+                byPost.computeIfAbsent(key.postId(), id -> new ArrayList<>()).add(Map.entry(key.day(), sketch));
+            }
+        }
+        byPost.forEach((postId, days) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(postId, days));
+            } catch (RuntimeException e) {
+                // merging is idempotent, the next flush simply tries again
+                days.forEach(day -> pendingReaders.merge(new SketchKey(postId, day.getKey()), day.getValue(),
+                        (current, failed) -> {
+                            current.merge(failed);
+                            return current;
+                        }));
+                log.warn("Could not flush readers of post {}", postId, e);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${application.views.purge-cron:0 15 3 * * *}")
+    @Transactional
+    public void purgeOldSketches() {
+        int deleted = sketchRepository.deleteDailyBefore(LocalDate.now().minusDays(retentionDays), PostViewSketch.ALL_TIME);
+        log.debug("Deleted {} daily view sketches older than {} days", deleted, retentionDays);
+    }
+
+    private void persist(Integer postId, List<Map.Entry<LocalDate, HyperLogLog>> days) {
+        PostViewSketch allTimeRow = row(postId, PostViewSketch.ALL_TIME);
+        HyperLogLog allTime = HyperLogLog.fromBytes(allTimeRow.getSketch());
+        for (Map.Entry<LocalDate, HyperLogLog> day : days) {
+            allTime.merge(day.getValue());
+            PostViewSketch dailyRow = row(postId, day.getKey());
+            HyperLogLog daily = HyperLogLog.fromBytes(dailyRow.getSketch());
+            daily.merge(day.getValue());
+            dailyRow.setSketch(daily.toBytes());
+            sketchRepository.save(dailyRow);
+        }
+        allTimeRow.setSketch(allTime.toBytes());
+        sketchRepository.save(allTimeRow);
+        postRepository.setUniqueReaders(postId, allTime.estimate());
+    }
+
+    private PostViewSketch row(Integer postId, LocalDate day) {
+        return sketchRepository.findByPostIdAndViewDate(postId, day)
+                .orElseGet(() -> PostViewSketch.builder().postId(postId).viewDate(day).build());
+    }
+}
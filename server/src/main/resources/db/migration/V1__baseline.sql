@@ -0,0 +1,97 @@
+-- Schema as Hibernate generated it for the original entities, before post bodies, follows,
+-- author stats, view counts and cluster changes were added. Databases created back then are
+-- baselined at this version and get everything else from the later versions, new ones start
+-- here.
+
+CREATE TABLE role (
+    id                 INTEGER      NOT NULL AUTO_INCREMENT,
+    name               VARCHAR(255),
+    created_date       DATE         NOT NULL,
+    last_modified_date DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_role_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE user (
+    id                 INTEGER      NOT NULL AUTO_INCREMENT,
+    firstname          VARCHAR(255),
+    lastname           VARCHAR(255),
+    date_of_birth      DATE,
+    email              VARCHAR(255),
+    password           VARCHAR(255),
+    account_locked     BIT          NOT NULL,
+    enabled            BIT          NOT NULL,
+    created_date       DATE         NOT NULL,
+    last_modified_date DATE,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_roles (
+    users_id INTEGER NOT NULL,
+    roles_id INTEGER NOT NULL,
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (users_id) REFERENCES user (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (roles_id) REFERENCES role (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE token (
+    id           INTEGER      NOT NULL AUTO_INCREMENT,
+    token        VARCHAR(255),
+    created_at   DATETIME(6),
+    expired_at   DATETIME(6),
+    validated_at DATETIME(6),
+    user_id      INTEGER      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_token_user FOREIGN KEY (user_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE post (
+    id                 INTEGER      NOT NULL AUTO_INCREMENT,
+    title              VARCHAR(255) NOT NULL,
+    subtitle           VARCHAR(255),
+    content            TEXT         NOT NULL,
+    author_id          INTEGER      NOT NULL,
+    read_time          VARCHAR(255),
+    image_url          VARCHAR(255),
+    featured           BIT          NOT NULL,
+    category           VARCHAR(255),
+    likes              INTEGER      NOT NULL,
+    bookmarks          INTEGER      NOT NULL,
+    shares             INTEGER      NOT NULL,
+    created_date       DATE         NOT NULL,
+    last_modified_date DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_post_author FOREIGN KEY (author_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE tag (
+    id   BIGINT       NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE post_tags (
+    post_id INTEGER NOT NULL,
+    tag_id  BIGINT  NOT NULL,
+    CONSTRAINT fk_post_tags_post FOREIGN KEY (post_id) REFERENCES post (id),
+    CONSTRAINT fk_post_tags_tag FOREIGN KEY (tag_id) REFERENCES tag (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_bookmarks (
+    user_id INTEGER NOT NULL,
+    post_id INTEGER NOT NULL,
+    PRIMARY KEY (post_id, user_id),
+    CONSTRAINT fk_user_bookmarks_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_user_bookmarks_post FOREIGN KEY (post_id) REFERENCES post (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE comment (
+    id           BIGINT  NOT NULL AUTO_INCREMENT,
+    post_id      INTEGER NOT NULL,
+    author_id    INTEGER NOT NULL,
+    content      TEXT    NOT NULL,
+    likes        INTEGER NOT NULL,
+    created_date DATE    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_comment_post FOREIGN KEY (post_id) REFERENCES post (id),
+    CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES user (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,27 @@
+-- Post bodies move out of the post row into post_body, and posts carry the excerpt and word
+-- count shown in lists.
+
+CREATE TABLE post_body (
+    id               INTEGER  NOT NULL AUTO_INCREMENT,
+    content          LONGBLOB NOT NULL,
+    rendered_content LONGBLOB,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Every existing post keeps its text, stored as plain UTF-8 behind the header byte 0 of
+-- PostBodyCodec. Bodies take the id of their post, new ones are numbered after the largest.
+-- The rendered content, excerpt and word count follow when the content is next edited.
+INSERT INTO post_body (id, content)
+SELECT id, CONCAT(X'00', content)
+FROM post;
+
+ALTER TABLE post ADD COLUMN body_id INTEGER;
+UPDATE post SET body_id = id;
+ALTER TABLE post MODIFY body_id INTEGER NOT NULL;
+ALTER TABLE post ADD CONSTRAINT uk_post_body UNIQUE (body_id);
+ALTER TABLE post ADD CONSTRAINT fk_post_body FOREIGN KEY (body_id) REFERENCES post_body (id);
+
+ALTER TABLE post DROP COLUMN content;
+
+ALTER TABLE post ADD COLUMN excerpt VARCHAR(300);
+ALTER TABLE post ADD COLUMN word_count INTEGER NOT NULL DEFAULT 0;
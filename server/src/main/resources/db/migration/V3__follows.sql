@@ -0,0 +1,14 @@
+-- Who follows whom, for the following timelines.
+
+CREATE TABLE follow (
+    id           INTEGER NOT NULL AUTO_INCREMENT,
+    follower_id  INTEGER NOT NULL,
+    followee_id  INTEGER NOT NULL,
+    created_date DATE    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_follow_pair UNIQUE (follower_id, followee_id),
+    CONSTRAINT fk_follow_follower FOREIGN KEY (follower_id) REFERENCES user (id),
+    CONSTRAINT fk_follow_followee FOREIGN KEY (followee_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_follow_followee ON follow (followee_id);
@@ -0,0 +1,12 @@
+-- Per-author totals. Rows are filled in by the next reconciliation of the author stats.
+
+CREATE TABLE author_stats (
+    author_id INTEGER NOT NULL,
+    fullname  VARCHAR(255),
+    posts     BIGINT  NOT NULL,
+    likes     BIGINT  NOT NULL,
+    bookmarks BIGINT  NOT NULL,
+    shares    BIGINT  NOT NULL,
+    comments  BIGINT  NOT NULL,
+    PRIMARY KEY (author_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,14 @@
+-- View counts and unique readers of posts, and the HyperLogLog sketches the unique readers are
+-- estimated from. Existing posts start without views.
+
+ALTER TABLE post ADD COLUMN views BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE post ADD COLUMN unique_readers BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE post_view_sketch (
+    id        BIGINT  NOT NULL AUTO_INCREMENT,
+    post_id   INTEGER NOT NULL,
+    view_date DATE    NOT NULL,
+    sketch    BLOB    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_post_view_sketch_day UNIQUE (post_id, view_date)
+) ENGINE = InnoDB;
@@ -0,0 +1,12 @@
+-- Changes published to the other nodes through the database transport of the invalidation bus.
+
+CREATE TABLE cluster_change (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    origin     VARCHAR(64) NOT NULL,
+    sequence   BIGINT      NOT NULL,
+    payload    TEXT        NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_cluster_change_created_at ON cluster_change (created_at);
@@ -0,0 +1,46 @@
+-- Indexes for the feed, filter, login and token queries, case-folded lookup keys for
+-- categories and tag names, unique e-mail addresses and tag names.
+
+-- Tags used to be created per post. Point every post at the oldest tag of the same name
+-- and drop the copies, so names can be unique.
+UPDATE post_tags
+SET tag_id = (SELECT MIN(same_name.id)
+              FROM tag this_tag
+                       JOIN tag same_name ON LOWER(same_name.name) = LOWER(this_tag.name)
+              WHERE this_tag.id = post_tags.tag_id)
+WHERE tag_id IN (SELECT id FROM tag WHERE name IS NOT NULL);
+
+CREATE TABLE post_tags_distinct AS SELECT DISTINCT post_id, tag_id FROM post_tags;
+DELETE FROM post_tags;
+INSERT INTO post_tags (post_id, tag_id) SELECT post_id, tag_id FROM post_tags_distinct;
+DROP TABLE post_tags_distinct;
+
+DELETE FROM tag
+WHERE name IS NOT NULL
+  AND id NOT IN (SELECT keep_id FROM (SELECT MIN(id) AS keep_id FROM tag GROUP BY LOWER(name)) AS kept);
+
+-- Lower-cased copies maintained by the database. Filters compare against these, so a plain
+-- index serves case-insensitive lookups on MySQL and the embedded test database alike.
+ALTER TABLE post ADD COLUMN category_key VARCHAR(255) GENERATED ALWAYS AS (LOWER(category));
+ALTER TABLE tag ADD COLUMN name_key VARCHAR(255) GENERATED ALWAYS AS (LOWER(name));
+
+-- category filter and per-category recent ids, id makes it covering for ORDER BY id
+CREATE INDEX idx_post_category_key ON post (category_key, id);
+-- latest posts
+CREATE INDEX idx_post_created_date ON post (created_date);
+-- following timelines
+CREATE INDEX idx_post_author ON post (author_id, id);
+
+CREATE UNIQUE INDEX uk_tag_name_key ON tag (name_key);
+-- tag filter, walks from the tag to its posts
+CREATE INDEX idx_post_tags_tag ON post_tags (tag_id, post_id);
+CREATE INDEX idx_post_tags_post ON post_tags (post_id);
+
+CREATE INDEX idx_user_bookmarks_user_post ON user_bookmarks (user_id, post_id);
+
+-- login
+CREATE UNIQUE INDEX uk_user_email ON user (email);
+
+-- revocation checks and the expiry sweep
+CREATE UNIQUE INDEX uk_token_token ON token (token);
+CREATE INDEX idx_token_expired_at ON token (expired_at);
@@ -0,0 +1,2 @@
+-- Optimistic locking for post edits. Existing posts start at version 0.
+ALTER TABLE post ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
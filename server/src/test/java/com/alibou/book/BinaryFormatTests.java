@@ -0,0 +1,72 @@
+package com.alibou.book;
+
+import com.alibou.book.post.PostResponse;
+import com.alibou.book.security.JwtService;
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Responses come as CBOR or Smile when the client asks for it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryFormatTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"application/cbor", "application/x-jackson-smile"})
+    void responsesAreWrittenInTheAcceptedFormat(String format) throws Exception {
+        User user = userRepository.save(User.builder()
+                .firstname("Binary")
+                .lastname("Reader")
+                .email(UUID.randomUUID() + "@test.de")
+                .password("unused")
+                .enabled(true)
+                .roles(new ArrayList<>())
+                .bookmarkedPosts(new HashSet<>())
+                .build());
+
+        byte[] body = mvc.perform(get("/facet/get-facets")
+                        .accept(MediaType.parseMediaType(format))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(user)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(format))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        ObjectMapper mapper = format.endsWith("cbor")
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.smile().build();
+        PostResponse response = mapper.readValue(body, PostResponse.class);
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getMessage()).isEqualTo("Facets fetched successfully");
+    }
+}
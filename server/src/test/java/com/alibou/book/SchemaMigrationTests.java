@@ -0,0 +1,107 @@
+package com.alibou.book;
+
+import com.alibou.book.post.Post;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Builds the schema from the migration scripts instead of letting Hibernate generate it, so the
+ * context only starts when the entities match the migrated schema. Rows written with the
+ * original schema are loaded before the later versions run, they have to survive them. The plans
+ * of the hot queries are checked for the indexes added for them.
+ */
+@SpringBootTest(properties = {
+        // own database, the cached test contexts keep using theirs
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/migration/V1__baseline.sql,classpath:db/original-data.sql,"
+                + "classpath:db/migration/V2__post_bodies.sql,classpath:db/migration/V3__follows.sql,"
+                + "classpath:db/migration/V4__author_stats.sql,classpath:db/migration/V5__post_views.sql,"
+                + "classpath:db/migration/V6__cluster_changes.sql,classpath:db/migration/V7__query_indexes.sql,"
+                + "classpath:db/migration/V8__post_version.sql"
+})
+class SchemaMigrationTests {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void postBodiesSurviveTheMoveToTheirOwnTable() {
+        Post first = entityManager.find(Post.class, 1);
+        Post second = entityManager.find(Post.class, 2);
+        Post third = entityManager.find(Post.class, 3);
+
+        assertThat(first.getContent()).isEqualTo("# Hello\nPlain *markdown*.");
+        assertThat(second.getContent()).isEqualTo("Grüße, 日本, \uD83D\uDE80");
+        assertThat(third.getContent()).hasSize(4_500).startsWith("A long body above");
+        assertThat(first.getRenderedContent()).isNull();
+        assertThat(third.getVersion()).isZero();
+        assertThat(third.getViews()).isZero();
+    }
+
+    @Test
+    void tagsOfTheSameNameAreMergedIntoTheOldest() {
+        assertThat(jdbc.queryForList("SELECT name FROM tag WHERE name_key IN ('spring', 'travel') ORDER BY id", String.class))
+                .containsExactly("Spring", "Travel");
+        assertThat(jdbc.queryForList("SELECT post_id FROM post_tags WHERE tag_id = 1 ORDER BY post_id", Integer.class))
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    void newBodiesAreNumberedAfterTheMovedOnes() {
+        jdbc.update("INSERT INTO post_body (content) VALUES (X'00')");
+
+        assertThat(jdbc.queryForObject("SELECT MAX(id) FROM post_body", Integer.class)).isGreaterThan(3);
+    }
+
+    @Test
+    void categoryFilterUsesCaseFoldedIndex() {
+        assertThat(plan("SELECT p.id FROM post p WHERE p.category_key = LOWER('Tech') ORDER BY p.id DESC"))
+                .containsIgnoringCase("idx_post_category_key");
+    }
+
+    @Test
+    void tagFilterUsesUniqueNameAndJoinIndexes() {
+        String plan = plan("SELECT p.id FROM post p JOIN post_tags pt ON pt.post_id = p.id "
+                + "JOIN tag t ON t.id = pt.tag_id WHERE t.name_key = LOWER('Java')");
+
+        assertThat(plan).containsIgnoringCase("uk_tag_name_key").containsIgnoringCase("idx_post_tags_tag");
+    }
+
+    @Test
+    void loginBookmarksAndTokensUseTheirIndexes() {
+        assertThat(plan("SELECT id FROM user WHERE email = 'reader@test.de'")).containsIgnoringCase("uk_user_email");
+        // the primary key starts with post_id, a user's bookmarks need the index
+        assertThat(plan("SELECT post_id FROM user_bookmarks WHERE user_id = 1"))
+                .containsIgnoringCase("idx_user_bookmarks_user_post");
+        assertThat(plan("SELECT id FROM token WHERE token = 'abc'")).containsIgnoringCase("uk_token_token");
+        assertThat(plan("SELECT id FROM post WHERE created_date >= DATE '2024-01-01' ORDER BY created_date DESC"))
+                .containsIgnoringCase("idx_post_created_date");
+    }
+
+    @Test
+    void tagNamesAndEmailsAreUniqueIgnoringCase() {
+        jdbc.update("INSERT INTO tag (name) VALUES ('Java')");
+
+        assertThat(jdbc.queryForObject("SELECT name_key FROM tag WHERE name = 'Java'", String.class)).isEqualTo("java");
+        assertThatThrownBy(() -> jdbc.update("INSERT INTO tag (name) VALUES ('JAVA')"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private String plan(String sql) {
+        return String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -0,0 +1,53 @@
+package com.alibou.book;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application in the fast profile the way {@code main} does and measures until the
+ * first request that needs the database is answered. The time depends on the machine, so it is
+ * only logged unless a budget is given with {@code -Dstartup.budget-ms}. Runs with
+ * {@code -Pbenchmarks}.
+ */
+@Slf4j
+@Tag("benchmark")
+class TimeToFirstRequestTests {
+
+    private static final long BUDGET_MS = Long.getLong("startup.budget-ms", 0);
+
+    @Test
+    void answersFirstRequestWithinBudget() throws Exception {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = BookNetworkApiApplication.application().run(
+                "--spring.profiles.active=fast",
+                "--server.port=0",
+                // own database, the cached test contexts keep using theirs
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"nobody@test.de\",\"password\":\"secret123\"}"))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("Time to first request: {} ms", elapsedMs);
+
+            assertThat(response.statusCode()).isEqualTo(401);
+            if (BUDGET_MS > 0) {
+                assertThat(elapsedMs).isLessThan(BUDGET_MS);
+            }
+        }
+    }
+}
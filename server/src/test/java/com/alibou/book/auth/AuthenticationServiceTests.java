@@ -0,0 +1,59 @@
+package com.alibou.book.auth;
+
+import com.alibou.book.email.EmailService;
+import com.alibou.book.role.RoleSeeder;
+import com.alibou.book.security.JwtService;
+import com.alibou.book.security.TokenDenylist;
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceTests {
+
+    private final JwtService jwtService = mock(JwtService.class);
+    private final TokenDenylist tokenDenylist = mock(TokenDenylist.class);
+    private final AuthenticationService service = new AuthenticationService(
+            mock(RoleSeeder.class), mock(UserRepository.class), mock(EmailService.class),
+            mock(AuthenticationManager.class), jwtService, mock(PasswordEncoder.class), tokenDenylist);
+
+    private final User user = User.builder().email("jane@example.com").build();
+
+    @Test
+    void revokesOwnTokens() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+        when(jwtService.extractUsername("jwt")).thenReturn("jane@example.com");
+        when(jwtService.extractTokenId("jwt")).thenReturn("id");
+        when(jwtService.extractExpirationTime("jwt")).thenReturn(expiresAt);
+
+        service.revoke("jwt", user);
+
+        verify(tokenDenylist).revoke("id", expiresAt, user);
+    }
+
+    @Test
+    void rejectsTokensOfOtherUsers() {
+        when(jwtService.extractUsername("jwt")).thenReturn("john@example.com");
+
+        assertThatThrownBy(() -> service.revoke("jwt", user)).isInstanceOf(BadCredentialsException.class);
+        verifyNoInteractions(tokenDenylist);
+    }
+
+    @Test
+    void rejectsTokensWithoutAnId() {
+        when(jwtService.extractUsername("jwt")).thenReturn("jane@example.com");
+
+        assertThatThrownBy(() -> service.revoke("jwt", user)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(tokenDenylist);
+    }
+}
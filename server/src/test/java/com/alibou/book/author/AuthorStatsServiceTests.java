@@ -0,0 +1,78 @@
+package com.alibou.book.author;
+
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthorStatsServiceTests {
+
+    private final AuthorStatsRepository authorStatsRepository = mock(AuthorStatsRepository.class);
+    private final AuthorStatsService service = new AuthorStatsService(authorStatsRepository,
+            mock(UserRepository.class), mock(PlatformTransactionManager.class));
+
+    private final User author = User.builder().id(7).firstname("Ada").lastname("Lovelace").build();
+    private final Post post = Post.builder().id(1).author(author).likes(3).bookmarks(2).shares(1).build();
+
+    @Test
+    void createdPostsAddTheirCounters() {
+        when(authorStatsRepository.increment(7, 1, 3, 2, 1)).thenReturn(1);
+
+        service.onPostEvent(new PostEvent(PostEvent.Type.CREATED, post, 7));
+
+        verify(authorStatsRepository).increment(7, 1, 3, 2, 1);
+    }
+
+    @Test
+    void bookmarksAddOne() {
+        service.onPostEvent(new PostEvent(PostEvent.Type.BOOKMARKED, post, 9));
+
+        verify(authorStatsRepository).increment(7, 0, 0, 1, 0);
+    }
+
+    @Test
+    void deletedPostsSubtractTheirCounters() {
+        when(authorStatsRepository.increment(anyInt(), anyLong(), anyLong(), anyLong(), anyLong())).thenReturn(1);
+
+        service.onPostEvent(new PostEvent(PostEvent.Type.DELETED, post, 7));
+
+        verify(authorStatsRepository).increment(7, -1, -3, -2, -1);
+    }
+
+    @Test
+    void editsAndRemoteEventsChangeNothing() {
+        service.onPostEvent(new PostEvent(PostEvent.Type.UPDATED, post, 7));
+        service.onPostEvent(new PostEvent(PostEvent.Type.CREATED, post, 7, true));
+
+        verify(authorStatsRepository, never()).increment(any(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void missingRowsAreCreatedFromTheAggregate() {
+        AuthorTotals totals = mock(AuthorTotals.class);
+        when(totals.getPosts()).thenReturn(4L);
+        when(totals.getLikes()).thenReturn(10L);
+        when(authorStatsRepository.findTotals(7)).thenReturn(Optional.of(totals));
+        when(authorStatsRepository.countComments(7)).thenReturn(5L);
+
+        service.onPostEvent(new PostEvent(PostEvent.Type.CREATED, post, 7));
+
+        verify(authorStatsRepository).saveAndFlush(argThat(stats ->
+                stats.getAuthorId() == 7 && stats.getPosts() == 4 && stats.getLikes() == 10
+                        && stats.getComments() == 5 && "Ada Lovelace".equals(stats.getFullname())));
+        verify(authorStatsRepository, never()).save(any());
+    }
+}
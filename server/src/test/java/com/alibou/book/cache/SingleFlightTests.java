@@ -0,0 +1,89 @@
+package com.alibou.book.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTests {
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        var flight = new SingleFlight<Integer, String>("test", 5_000);
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(pool.submit(() -> flight.load(1, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "post 1";
+                })));
+            }
+            while (flight.stats().calls() < 16) {
+                Thread.onSpinWait();
+            }
+            // a call is counted just before it joins the leader
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("post 1");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(flight.stats().collapseRatio()).isEqualTo(15 / 16.0);
+        assertThat(flight.stats().inFlight()).isZero();
+    }
+
+    @Test
+    void waitersGiveUpAfterMaxWaitAndLoadThemselves() throws Exception {
+        var flight = new SingleFlight<Integer, String>("test", 50);
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        Thread leader = new Thread(() -> flight.load(1, () -> {
+            started.countDown();
+            await(release);
+            return "slow";
+        }));
+        leader.start();
+        started.await();
+
+        assertThat(flight.load(1, () -> "own")).isEqualTo("own");
+        assertThat(flight.stats().timeouts()).isEqualTo(1);
+
+        release.countDown();
+        leader.join();
+    }
+
+    @Test
+    void failuresReachTheWaitersAndAreNotKept() {
+        var flight = new SingleFlight<Integer, String>("test", 1_000);
+
+        assertThatThrownBy(() -> flight.load(1, () -> {
+            throw new IllegalStateException("db down");
+        })).hasMessage("db down");
+        assertThat(flight.load(1, () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.alibou.book.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.event.EventListener;
+
+import java.net.DatagramSocket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application contexts in one JVM, talking over UDP on loopback.
+ */
+class InvalidationBusTests {
+
+    private final int portA = freePort();
+    private final int portB = freePort();
+
+    private final ApplicationContextRunner node = new ApplicationContextRunner()
+            .withBean(ObjectMapper.class)
+            .withUserConfiguration(InvalidationBus.class, UdpInvalidationTransport.class, Received.class)
+            .withPropertyValues(
+                    "application.cluster.batch-ms=20",
+                    "application.cluster.gap-timeout-ms=300",
+                    "application.cluster.udp.bind-address=127.0.0.1",
+                    "application.cluster.udp.peers=127.0.0.1:" + portA + ",127.0.0.1:" + portB
+            );
+
+    @Test
+    void invalidationsReachOtherNodesCoalescedAndInOrder() {
+        // long enough for all four to land in the same batch
+        node.withPropertyValues("application.cluster.node-id=a", "application.cluster.udp.port=" + portA,
+                "application.cluster.batch-ms=1000").run(a ->
+                node.withPropertyValues("application.cluster.node-id=b", "application.cluster.udp.port=" + portB).run(b -> {
+                    var bus = a.getBean(InvalidationBus.class);
+                    bus.publish(new Invalidation(Invalidation.Type.POST_CREATED, 1, 7));
+                    bus.publish(new Invalidation(Invalidation.Type.BOOKMARK_CHANGED, 1, 8));
+                    bus.publish(new Invalidation(Invalidation.Type.POST_CREATED, 1, 7));
+                    bus.publish(new Invalidation(Invalidation.Type.USER_DISABLED, null, 9));
+
+                    var received = b.getBean(Received.class);
+                    await(() -> received.invalidations().size() == 3);
+                    assertThat(received.invalidations()).containsExactly(
+                            new Invalidation(Invalidation.Type.POST_CREATED, 1, 7),
+                            new Invalidation(Invalidation.Type.BOOKMARK_CHANGED, 1, 8),
+                            new Invalidation(Invalidation.Type.USER_DISABLED, null, 9));
+                    assertThat(received.events).allMatch(event -> event.origin().equals("a"));
+
+                    Thread.sleep(100);
+                    assertThat(a.getBean(Received.class).events).isEmpty();
+                })
+        );
+    }
+
+    @Test
+    void batchesAreAppliedInSequenceAndOnlyOnce() {
+        node.withPropertyValues("application.cluster.node-id=a", "application.cluster.udp.port=" + portA).run(a -> {
+            var bus = a.getBean(InvalidationBus.class);
+            var received = a.getBean(Received.class);
+
+            bus.receive(batch(1, 1));
+            bus.receive(batch(3, 3));
+            bus.receive(batch(2, 2));
+            bus.receive(batch(2, 2));
+            await(() -> received.events.size() == 3);
+            assertThat(received.postIds()).containsExactly(1, 2, 3);
+
+            // 4 never arrives, 5 is applied once the gap timed out
+            bus.receive(batch(5, 5));
+            Thread.sleep(100);
+            assertThat(received.postIds()).containsExactly(1, 2, 3);
+            await(() -> received.events.size() == 4);
+            assertThat(received.postIds()).containsExactly(1, 2, 3, 5);
+        });
+    }
+
+    @Test
+    void restartedNodesAreFollowedFromTheirNewSequence() {
+        node.withPropertyValues("application.cluster.node-id=a", "application.cluster.udp.port=" + portA).run(a -> {
+            var bus = a.getBean(InvalidationBus.class);
+            var received = a.getBean(Received.class);
+
+            bus.receive(batch(100, 7, 1));
+            bus.receive(batch(100, 8, 2));
+            await(() -> received.events.size() == 2);
+
+            // restarted, counting from 1 again; a late batch of the old run is still ignored
+            bus.receive(batch(200, 2, 4));
+            bus.receive(batch(200, 1, 3));
+            bus.receive(batch(100, 9, 99));
+            await(() -> received.events.size() == 4);
+            Thread.sleep(100);
+            assertThat(received.postIds()).containsExactly(1, 2, 3, 4);
+        });
+    }
+
+    private static InvalidationBatch batch(long sequence, int postId) {
+        return batch(1, sequence, postId);
+    }
+
+    private static InvalidationBatch batch(long epoch, long sequence, int postId) {
+        return new InvalidationBatch("remote", epoch, sequence,
+                List.of(new Invalidation(Invalidation.Type.POST_UPDATED, postId, null)));
+    }
+
+    private static void await(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.get()) {
+            assertThat(System.currentTimeMillis()).as("timed out").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static int freePort() {
+        try (var socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        } catch (SocketException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class Received {
+
+        final List<ClusterInvalidationEvent> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void on(ClusterInvalidationEvent event) {
+            events.add(event);
+        }
+
+        List<Invalidation> invalidations() {
+            return events.stream().map(ClusterInvalidationEvent::invalidation).toList();
+        }
+
+        List<Integer> postIds() {
+            return events.stream().map(event -> event.invalidation().id()).toList();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.alibou.book.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+
+    private final DataSource primary = embedded("primary");
+    private final DataSource replica = embedded("replica");
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("reader@test.de", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        var routing = routing(replica, Duration.ZERO);
+
+        assertThat(read(routing)).isEqualTo("replica");
+        assertThat(write(routing)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsArePinnedToPrimaryAfterOwnWrite() {
+        var routing = routing(replica, Duration.ofMinutes(1));
+
+        assertThat(read(routing)).isEqualTo("replica");
+        write(routing);
+        assertThat(read(routing)).isEqualTo("primary");
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other@test.de", null));
+        assertThat(read(routing)).isEqualTo("replica");
+    }
+
+    @Test
+    void expiredPinsAreSweptOnLaterWrites() throws InterruptedException {
+        var routing = new ReplicaRoutingDataSource(primary, replica, Duration.ofMillis(1), Duration.ofMinutes(1));
+        var proxy = new LazyConnectionDataSourceProxy(routing);
+
+        write(proxy);
+        Thread.sleep(5);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("writer@test.de", null));
+        write(proxy);
+
+        // the reader's pin expired and nobody read since, the next write still drops it
+        assertThat(routing.pinnedUsers()).isEqualTo(1);
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaIsDown() {
+        var unreachable = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        var routing = routing(unreachable, Duration.ZERO);
+
+        assertThat(read(routing)).isEqualTo("primary");
+        assertThat(read(routing)).isEqualTo("primary");
+    }
+
+    private DataSource routing(DataSource replica, Duration readYourWrites) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, readYourWrites, Duration.ofMinutes(1)));
+    }
+
+    private static String read(DataSource dataSource) {
+        return inTransaction(dataSource, true);
+    }
+
+    private static String write(DataSource dataSource) {
+        return inTransaction(dataSource, false);
+    }
+
+    private static String inTransaction(DataSource dataSource, boolean readOnly) {
+        var tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource embedded(String name) {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,73 @@
+package com.alibou.book.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing inside one open session, the way open session in view runs a request. Both URLs
+ * point at the same database, replica connections start in their own schema and fall back to
+ * the tables in PUBLIC, the current schema tells which pool a connection came from.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingSessionTests.URL,
+        "application.datasource.replica.url=" + ReplicaRoutingSessionTests.URL + ";SCHEMA=REPLICA;SCHEMA_SEARCH_PATH=REPLICA,PUBLIC",
+        "application.datasource.replica.username=sa",
+        "application.datasource.read-your-writes-seconds=0"
+})
+class ReplicaRoutingSessionTests {
+
+    static final String URL = "jdbc:h2:mem:routing;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+
+    static {
+        new JdbcTemplate(new DriverManagerDataSource(URL, "sa", "")).execute("CREATE SCHEMA IF NOT EXISTS REPLICA");
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void openSession() {
+        entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+    }
+
+    @AfterEach
+    void closeSession() {
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        EntityManagerFactoryUtils.closeEntityManager(entityManager);
+    }
+
+    @Test
+    void writeAfterReadInOneSessionGoesToThePrimary() {
+        assertThat(schemaIn(true)).isEqualTo("REPLICA");
+        assertThat(schemaIn(false)).isEqualTo("PUBLIC");
+        assertThat(schemaIn(true)).isEqualTo("REPLICA");
+    }
+
+    private String schemaIn(boolean readOnly) {
+        var tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getSchema()));
+    }
+}
@@ -0,0 +1,138 @@
+package com.alibou.book.facet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetIndexTests {
+
+    private final FacetIndex index = new FacetIndex();
+
+    @Test
+    void countsPostsPerCategoryAndTag() {
+        index.put(1, "Tech", List.of("java", "spring"));
+        index.put(2, "tech", List.of("Java"));
+        index.put(3, "Life", List.of());
+
+        FacetCounts counts = index.counts(null);
+
+        assertThat(counts.total()).isEqualTo(3);
+        assertThat(counts.categories()).containsExactly(new FacetCount("tech", 2), new FacetCount("Life", 1));
+        assertThat(counts.tags()).containsExactly(new FacetCount("Java", 2), new FacetCount("spring", 1));
+    }
+
+    @Test
+    void scopedCountsOnlyCoverThePostsOfTheFilter() {
+        index.put(1, "Tech", List.of("java", "spring"));
+        index.put(2, "Tech", List.of("java"));
+        index.put(3, "Life", List.of("java", "travel"));
+
+        FacetCounts tech = index.counts(FacetIndex.Facet.category("TECH"));
+        FacetCounts java = index.counts(FacetIndex.Facet.tag("java"));
+
+        assertThat(tech.total()).isEqualTo(2);
+        assertThat(tech.tags()).containsExactly(new FacetCount("java", 2), new FacetCount("spring", 1));
+        assertThat(java.total()).isEqualTo(3);
+        assertThat(java.categories()).containsExactly(new FacetCount("Tech", 2), new FacetCount("Life", 1));
+        assertThat(index.counts(FacetIndex.Facet.tag("unknown")).total()).isZero();
+    }
+
+    @Test
+    void updatesAndRemovalsSubtractWhatThePostCountedFor() {
+        index.put(1, "Tech", List.of("java", "spring"));
+        index.put(2, "Tech", List.of("java"));
+
+        index.put(1, "Life", List.of("travel"));
+        index.remove(2);
+        index.remove(42);
+
+        FacetCounts counts = index.counts(null);
+        assertThat(counts.total()).isEqualTo(1);
+        assertThat(counts.categories()).containsExactly(new FacetCount("Life", 1));
+        assertThat(counts.tags()).containsExactly(new FacetCount("travel", 1));
+        assertThat(index.counts(FacetIndex.Facet.category("Tech")).tags()).isEmpty();
+    }
+
+    @Test
+    void changesDuringARebuildAreReplayedOntoIt() {
+        index.put(1, "Tech", List.of("java"));
+        index.put(2, "Tech", List.of("java"));
+
+        index.startRebuild();
+        // what the DB returned, post 2 is changed and post 4 created after it was read
+        FacetIndex rebuilt = new FacetIndex();
+        rebuilt.put(1, "Tech", List.of("java"));
+        rebuilt.put(2, "Tech", List.of("java"));
+        index.put(2, "Life", List.of("travel"));
+        index.put(4, "Tech", List.of());
+        int drifted = index.finishRebuild(rebuilt);
+
+        assertThat(drifted).isZero();
+        FacetCounts counts = index.counts(null);
+        assertThat(counts.total()).isEqualTo(3);
+        assertThat(counts.categories()).containsExactly(new FacetCount("Tech", 2), new FacetCount("Life", 1));
+        assertThat(counts.tags()).containsExactly(new FacetCount("java", 1), new FacetCount("travel", 1));
+    }
+
+    @Test
+    void rebuildCorrectsDrift() {
+        index.put(1, "Tech", List.of("java"));
+        index.put(2, "Tech", List.of("java"));
+
+        index.startRebuild();
+        FacetIndex rebuilt = new FacetIndex();
+        rebuilt.put(1, "Tech", List.of("java", "spring"));
+        rebuilt.put(3, "Life", List.of());
+
+        assertThat(index.finishRebuild(rebuilt)).isEqualTo(3);
+        assertThat(index.counts(null).total()).isEqualTo(2);
+    }
+
+    @Test
+    void agreesWithARecountAfterRandomChanges() {
+        Random random = new Random(7);
+        List<String> categories = List.of("tech", "life", "travel", "food");
+        List<String> tags = List.of("a", "b", "c", "d", "e", "f");
+        Map<Integer, String> postCategory = new HashMap<>();
+        Map<Integer, List<String>> postTags = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            int id = random.nextInt(300);
+            if (random.nextInt(5) == 0) {
+                index.remove(id);
+                postCategory.remove(id);
+                postTags.remove(id);
+                continue;
+            }
+            String category = categories.get(random.nextInt(categories.size()));
+            List<String> chosen = new ArrayList<>();
+            for (String tag : tags) {
+                if (random.nextInt(3) == 0) {
+                    chosen.add(tag);
+                }
+            }
+            index.put(id, category, chosen);
+            postCategory.put(id, category);
+            postTags.put(id, chosen);
+        }
+
+        for (String scope : tags) {
+            Map<String, Long> expected = new HashMap<>();
+            postTags.forEach((id, postTagList) -> {
+                if (postTagList.contains(scope)) {
+                    expected.merge(postCategory.get(id), 1L, Long::sum);
+                }
+            });
+            Map<String, Long> actual = new HashMap<>();
+            index.counts(FacetIndex.Facet.tag(scope)).categories()
+                    .forEach(count -> actual.put(count.name(), count.count()));
+            assertThat(actual).as("categories within tag %s", scope).isEqualTo(expected);
+        }
+        assertThat(index.counts(null).total()).isEqualTo(postCategory.size());
+    }
+}
@@ -0,0 +1,84 @@
+package com.alibou.book.feed;
+
+import com.alibou.book.comment.Tag;
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostService;
+import com.alibou.book.trending.TrendingService;
+import com.alibou.book.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedServiceTests {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final FeedService feedService = new FeedService(postRepository, mock(PostService.class), mock(TrendingService.class));
+
+    @Test
+    void ranksPostsOfTheBookmarkedTagsNewestFirst() {
+        when(postRepository.findRecentIdsByTag(eq("java"), any())).thenReturn(List.of(30, 20, 10));
+        when(postRepository.findRecentIdsByCategory(eq("tech"), any())).thenReturn(List.of(20));
+
+        List<Integer> feed = feedService.getForYouIds(reader(1, post(10, "Tech", "java")), 10);
+
+        // the bookmarked post itself is left out, the category adds to post 20
+        assertThat(feed).containsExactly(20, 30);
+        assertThat(feedService.getForYouIds(reader(1, post(10, "Tech", "java")), -1)).isEmpty();
+    }
+
+    @Test
+    void positionWeightHalvesEveryFiftyPosts() {
+        // 150 posts with the tag, post 1 is the oldest and the only one in the category
+        List<Integer> tagIds = IntStream.rangeClosed(1, 150).map(i -> 151 - i).boxed().toList();
+        when(postRepository.findRecentIdsByTag(eq("java"), any())).thenReturn(tagIds);
+        when(postRepository.findRecentIdsByCategory(eq("food"), any())).thenReturn(List.of(1));
+
+        List<Integer> feed = feedService.getForYouIds(reader(2, post(1000, "Food", "java")), 50);
+
+        // post 1 scores 0.5^(149/50) + 0.5 = 0.627 from its tag position and the category, which
+        // only tag positions up to 33 beat (0.5^(33/50) = 0.633, 0.5^(34/50) = 0.624)
+        assertThat(feed.indexOf(1)).isEqualTo(34);
+    }
+
+    @Test
+    void editedPostsLeaveAndJoinTheirTermLists() {
+        when(postRepository.findRecentIdsByTag(eq("java"), any())).thenReturn(List.of(3, 2), List.of(2));
+        when(postRepository.findRecentIdsByTag(eq("pasta"), any())).thenReturn(List.of(4), List.of(4, 3));
+        User javaReader = reader(1, post(100, null, "java"));
+        User pastaReader = reader(2, post(101, null, "pasta"));
+        assertThat(feedService.getForYouIds(javaReader, 10)).containsExactly(3, 2);
+        assertThat(feedService.getForYouIds(pastaReader, 10)).containsExactly(4);
+
+        feedService.onPostEvent(new PostEvent(PostEvent.Type.UPDATED, post(3, null, "pasta"), 1));
+
+        assertThat(feedService.getForYouIds(reader(3, post(100, null, "java")), 10)).containsExactly(2);
+        assertThat(feedService.getForYouIds(reader(4, post(101, null, "pasta")), 10)).containsExactly(4, 3);
+        verify(postRepository, times(2)).findRecentIdsByTag(eq("java"), any());
+    }
+
+    private static User reader(int id, Post... bookmarks) {
+        return User.builder().id(id).bookmarkedPosts(new HashSet<>(Set.of(bookmarks))).build();
+    }
+
+    private static Post post(int id, String category, String... tags) {
+        return Post.builder()
+                .id(id)
+                .category(category)
+                .tags(Arrays.stream(tags).map(name -> Tag.builder().name(name).build()).toList())
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.alibou.book.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InterestProfileTests {
+
+    @Test
+    void recentBookmarksOutweighOlderOnes() {
+        var profile = new InterestProfile();
+        profile.add(List.of("java"), "tech");
+        profile.add(List.of("java"), "tech");
+        profile.add(List.of("pasta"), "food");
+        profile.add(List.of("pasta"), "food");
+
+        // the two java bookmarks decayed twice more than the pasta ones
+        assertThat(profile.topTags(2)).extracting(Map.Entry::getKey).containsExactly("pasta", "java");
+        assertThat(profile.topCategories(1)).extracting(Map.Entry::getKey).containsExactly("food");
+    }
+
+    @Test
+    void keepsAtMostMaxTermsDroppingTheWeakest() {
+        var profile = new InterestProfile();
+        for (int i = 0; i < InterestProfile.MAX_TERMS + 10; i++) {
+            profile.add(List.of("tag" + i), null);
+        }
+
+        var tags = profile.topTags(Integer.MAX_VALUE);
+        assertThat(tags).hasSize(InterestProfile.MAX_TERMS);
+        assertThat(tags.get(0).getKey()).isEqualTo("tag" + (InterestProfile.MAX_TERMS + 9));
+        assertThat(tags).extracting(Map.Entry::getKey).doesNotContain("tag0", "tag9");
+        assertThat(profile.topCategories(5)).isEmpty();
+    }
+
+    @Test
+    void emptyUntilTheFirstBookmark() {
+        var profile = new InterestProfile();
+
+        assertThat(profile.isEmpty()).isTrue();
+        profile.add(List.of(), "tech");
+        assertThat(profile.isEmpty()).isFalse();
+    }
+}
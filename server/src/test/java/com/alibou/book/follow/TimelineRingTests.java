@@ -0,0 +1,88 @@
+package com.alibou.book.follow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimelineRingTests {
+
+    @Test
+    void pagesNewestFirstBelowTheCursor() {
+        TimelineRing ring = new TimelineRing(10);
+        ring.load(List.of(9, 7, 5, 3, 1), false);
+
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        List<Integer> last = new ArrayList<>();
+
+        assertThat(ring.page(Integer.MAX_VALUE, 2, first)).isZero();
+        assertThat(ring.page(7, 2, second)).isZero();
+        assertThat(ring.page(3, 5, last)).isZero();
+        assertThat(first).containsExactly(9, 7);
+        assertThat(second).containsExactly(5, 3);
+        assertThat(last).containsExactly(1);
+    }
+
+    @Test
+    void overwritesTheOldestIdsOnceFull() {
+        TimelineRing ring = new TimelineRing(3);
+        ring.load(List.of(), false);
+        for (int id = 1; id <= 5; id++) {
+            ring.add(id);
+        }
+        // older than everything held, there is no room for it
+        ring.add(1);
+
+        List<Integer> page = new ArrayList<>();
+        int floor = ring.page(Integer.MAX_VALUE, 10, page);
+
+        assertThat(page).containsExactly(5, 4, 3);
+        assertThat(floor).as("older posts must come from the database").isEqualTo(3);
+    }
+
+    @Test
+    void keepsIdsPushedWhileLoadingAndIgnoresDuplicates() {
+        TimelineRing ring = new TimelineRing(10);
+        ring.add(12);
+        ring.add(10);
+        ring.add(12);
+
+        assertThat(ring.page(Integer.MAX_VALUE, 10, new ArrayList<>())).isEqualTo(Integer.MAX_VALUE);
+        ring.load(List.of(11, 10, 4), true);
+
+        List<Integer> page = new ArrayList<>();
+        int floor = ring.page(Integer.MAX_VALUE, 10, page);
+        assertThat(page).containsExactly(12, 11, 10, 4);
+        assertThat(floor).isEqualTo(4);
+    }
+
+    @Test
+    void agreesWithASortedSetAfterRandomPushes() {
+        Random random = new Random(11);
+        int capacity = 64;
+        TimelineRing ring = new TimelineRing(capacity);
+        ring.load(List.of(), false);
+        NavigableSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            // mostly increasing, like ids of new posts, with some arriving late
+            int id = i * 3 - random.nextInt(40);
+            ring.add(id);
+            expected.add(id);
+            if (expected.size() > capacity) {
+                expected.pollFirst();
+            }
+
+            int before = random.nextInt(i * 3 + 10);
+            List<Integer> page = new ArrayList<>();
+            ring.page(before, 10, page);
+            List<Integer> want = expected.headSet(before, false).descendingSet().stream().limit(10).toList();
+            assertThat(page).as("page before %d after %d pushes", before, i).isEqualTo(want);
+        }
+    }
+}
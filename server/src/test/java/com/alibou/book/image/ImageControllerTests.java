@@ -0,0 +1,42 @@
+package com.alibou.book.image;
+
+import com.alibou.book.image.ImageController.ByteRange;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageControllerTests {
+
+    @Test
+    void parsesSingleRanges() {
+        assertThat(ImageController.parseRange("bytes=0-99", 1000)).isEqualTo(new ByteRange(0, 99));
+        assertThat(ImageController.parseRange("bytes=500-", 1000)).isEqualTo(new ByteRange(500, 999));
+        assertThat(ImageController.parseRange("bytes=-100", 1000)).isEqualTo(new ByteRange(900, 999));
+        assertThat(ImageController.parseRange("bytes=900-5000", 1000)).isEqualTo(new ByteRange(900, 999));
+        assertThat(ImageController.parseRange("bytes=-5000", 1000)).isEqualTo(new ByteRange(0, 999));
+    }
+
+    @Test
+    void ignoresHeadersItCannotHonour() {
+        assertThat(ImageController.parseRange(null, 1000)).isNull();
+        assertThat(ImageController.parseRange("bytes=-", 1000)).isNull();
+        assertThat(ImageController.parseRange("bytes=0-1,5-6", 1000)).isNull();
+        assertThat(ImageController.parseRange("items=0-1", 1000)).isNull();
+    }
+
+    @Test
+    void rangesBeyondTheFileAreUnsatisfiable() {
+        assertThat(ImageController.parseRange("bytes=1000-", 1000).satisfiable(1000)).isFalse();
+        assertThat(ImageController.parseRange("bytes=20-10", 1000).satisfiable(1000)).isFalse();
+        assertThat(ImageController.parseRange("bytes=-1", 0).satisfiable(0)).isFalse();
+    }
+
+    @Test
+    void numbersTooLargeForALongDoNotFail() {
+        String huge = "99999999999999999999999";
+
+        assertThat(ImageController.parseRange("bytes=" + huge + "-", 1000).satisfiable(1000)).isFalse();
+        assertThat(ImageController.parseRange("bytes=10-" + huge, 1000)).isEqualTo(new ByteRange(10, 999));
+        assertThat(ImageController.parseRange("bytes=-" + huge, 1000)).isEqualTo(new ByteRange(0, 999));
+    }
+}
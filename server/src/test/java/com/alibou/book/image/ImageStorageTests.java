@@ -0,0 +1,77 @@
+package com.alibou.book.image;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageStorageTests {
+
+    @TempDir
+    Path dir;
+
+    private ImageStorage storage;
+
+    @AfterEach
+    void shutdown() {
+        if (storage != null) {
+            storage.shutdown();
+        }
+    }
+
+    @Test
+    void variantsWiderThanTheUploadAreTheOriginal() throws Exception {
+        storage = new ImageStorage(dir.toString(), 1, 4);
+        String hash = storage.store(png(400, 100));
+
+        Path thumb = await(hash, ImageVariant.THUMB);
+        Path feed = await(hash, ImageVariant.FEED);
+
+        assertThat(ImageIO.read(thumb.toFile()).getWidth()).isEqualTo(320);
+        assertThat(feed.getFileName().toString()).isEqualTo("feed.png");
+        assertThat(Files.mismatch(feed, storage.resolve(hash, ImageVariant.ORIGINAL))).isEqualTo(-1);
+    }
+
+    @Test
+    void skippedVariantsAreServedAsImmutable() throws Exception {
+        storage = new ImageStorage(dir.toString(), 1, 4);
+        String hash = storage.store(png(100, 100));
+        await(hash, ImageVariant.THUMB);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ImageController(storage).serve(hash, "thumb", new MockHttpServletRequest(), response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+    }
+
+    private Path await(String hash, ImageVariant variant) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            Path file = storage.resolve(hash, variant);
+            if (file.getFileName().toString().startsWith(variant.path() + ".")) {
+                return file;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError(variant + " was not generated");
+    }
+
+    private static MockMultipartFile png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return new MockMultipartFile("file", "image.png", "image/png", out.toByteArray());
+    }
+}
@@ -0,0 +1,68 @@
+package com.alibou.book.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTests {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ObjectMapper(), true,
+            List.of("read", "live"), 2, 1, 10, 0.0, 1);
+
+    @Test
+    void synchronousRequestsReleaseTheirSlotWhenTheyReturn() throws Exception {
+        filter.doFilter(request("/read/post/1"), new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        assertThat(stats("read").inFlight()).isZero();
+        assertThat(stats("read").shortRttMs()).isGreaterThan(0);
+    }
+
+    @Test
+    void asyncReadsHoldTheirSlotUntilTheyComplete() throws Exception {
+        MockHttpServletRequest first = request("/read/post/1");
+        filter.doFilter(first, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        filter.doFilter(request("/read/post/2"), new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(stats("read").inFlight()).isEqualTo(2);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("/read/post/3"), rejected, (req, res) -> {
+        });
+        assertThat(rejected.getStatus()).isEqualTo(503);
+
+        ((MockAsyncContext) first.getAsyncContext()).complete();
+        ((MockAsyncContext) first.getAsyncContext()).complete();
+
+        assertThat(stats("read").inFlight()).isEqualTo(1);
+        assertThat(stats("read").shortRttMs()).isGreaterThan(0);
+    }
+
+    @Test
+    void eventStreamsFreeTheirSlotRightAwayWithoutASample() throws Exception {
+        filter.doFilter(request("/live/stream"), new MockHttpServletResponse(), (req, res) -> {
+            req.startAsync();
+            res.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        });
+
+        assertThat(stats("live").inFlight()).isZero();
+        assertThat(stats("live").shortRttMs()).isZero();
+    }
+
+    private LimiterStats stats(String group) {
+        return filter.stats().stream().filter(stats -> stats.group().equals(group)).findFirst().orElseThrow();
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
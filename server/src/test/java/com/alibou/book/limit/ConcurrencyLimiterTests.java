@@ -0,0 +1,76 @@
+package com.alibou.book.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTests {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void growsWhileLatencyHoldsUnderFullLoad() {
+        var limiter = new ConcurrencyLimiter("post", 10, 2, 100, 0.2);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(10 * MS, limiter.limit());
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(10);
+    }
+
+    @Test
+    void shrinksWhenRequestsQueueUp() {
+        var limiter = new ConcurrencyLimiter("post", 10, 2, 100, 0.2);
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(10 * MS, limiter.limit());
+        }
+        int healthy = limiter.limit();
+
+        for (int i = 0; i < 30; i++) {
+            limiter.onSample(100 * MS, limiter.limit());
+        }
+
+        assertThat(limiter.limit()).isLessThan(healthy / 2).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void mostlyIdleGroupKeepsItsLimit() {
+        var limiter = new ConcurrencyLimiter("post", 10, 2, 100, 0.2);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(10 * MS, 1);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void writesAreShedBeforeReads() {
+        var limiter = new ConcurrencyLimiter("post", 10, 2, 100, 0.2);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(limiter.tryAcquire(false)).isEqualTo(i + 1);
+        }
+        assertThat(limiter.tryAcquire(false)).isEqualTo(-1);
+        assertThat(limiter.tryAcquire(true)).isEqualTo(9);
+        assertThat(limiter.tryAcquire(true)).isEqualTo(10);
+        assertThat(limiter.tryAcquire(true)).isEqualTo(-1);
+
+        limiter.release(-1, 10);
+        assertThat(limiter.tryAcquire(true)).isEqualTo(10);
+
+        var stats = limiter.stats();
+        assertThat(stats.inFlight()).isEqualTo(10);
+        assertThat(stats.accepted()).isEqualTo(11);
+        assertThat(stats.rejectedReads()).isEqualTo(1);
+        assertThat(stats.rejectedWrites()).isEqualTo(1);
+    }
+
+    @Test
+    void groupIsTheFirstPathSegment() {
+        assertThat(ConcurrencyLimitFilter.group("/post/get-post/1")).isEqualTo("post");
+        assertThat(ConcurrencyLimitFilter.group("/feed")).isEqualTo("feed");
+        assertThat(ConcurrencyLimitFilter.group("")).isEmpty();
+    }
+}
@@ -0,0 +1,181 @@
+package com.alibou.book.live;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveEventHubTests {
+
+    private LiveEventHub hub;
+
+    @AfterEach
+    void shutdown() {
+        if (hub != null) {
+            hub.shutdown();
+        }
+    }
+
+    @Test
+    void subscribersGetMatchingEventsInOrder() throws Exception {
+        hub = hub(16, 8, LiveEventHub.SlowConsumerPolicy.DROP, 60_000);
+        RecordingEmitter all = new RecordingEmitter();
+        RecordingEmitter tech = new RecordingEmitter();
+        hub.subscribe(all, null, null, null);
+        hub.subscribe(tech, "Tech", null, null);
+
+        hub.publish("post", "tech", List.of("java"), Map.of("n", 1));
+        hub.publish("post", "life", List.of(), Map.of("n", 2));
+        hub.publish("post", "tech", List.of(), Map.of("n", 3));
+
+        all.await(sent -> sent.size() == 3);
+        tech.await(sent -> sent.size() == 2);
+        assertThat(all.sent).containsExactly("id:1 post {\"n\":1}", "id:2 post {\"n\":2}", "id:3 post {\"n\":3}");
+        assertThat(tech.sent).containsExactly("id:1 post {\"n\":1}", "id:3 post {\"n\":3}");
+    }
+
+    @Test
+    void reconnectsResumeAfterTheLastEventIdWhileItIsBuffered() throws Exception {
+        hub = hub(4, 4, LiveEventHub.SlowConsumerPolicy.DROP, 60_000);
+        for (int i = 1; i <= 6; i++) {
+            hub.publish("post", null, List.of(), i);
+        }
+        RecordingEmitter resumed = new RecordingEmitter();
+        RecordingEmitter tooOld = new RecordingEmitter();
+
+        hub.subscribe(resumed, null, null, 4L);
+        hub.subscribe(tooOld, null, null, 1L);
+        hub.publish("post", null, List.of(), 7);
+
+        resumed.await(sent -> sent.size() == 3);
+        tooOld.await(sent -> sent.size() == 2);
+        assertThat(resumed.sent).containsExactly("id:5 post 5", "id:6 post 6", "id:7 post 7");
+        assertThat(tooOld.sent.get(0)).contains("control", "reset");
+        assertThat(tooOld.sent.get(1)).isEqualTo("id:7 post 7");
+    }
+
+    @Test
+    void laggingSubscribersSkipTheOldestEvents() throws Exception {
+        hub = hub(16, 4, LiveEventHub.SlowConsumerPolicy.DROP, 60_000);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blockNextSend();
+        hub.subscribe(slow, null, null, null);
+
+        hub.publish("post", null, List.of(), 1);
+        slow.blocked.await(5, TimeUnit.SECONDS);
+        for (int i = 2; i <= 11; i++) {
+            hub.publish("post", null, List.of(), i);
+        }
+        slow.release.countDown();
+
+        slow.await(sent -> sent.size() == 6);
+        assertThat(slow.sent.get(0)).isEqualTo("id:1 post 1");
+        assertThat(slow.sent.get(1)).contains("dropped", "\"count\":6");
+        assertThat(slow.sent.subList(2, 6)).containsExactly("id:8 post 8", "id:9 post 9", "id:10 post 10", "id:11 post 11");
+    }
+
+    @Test
+    void blockedSendsAreDisconnectedWithoutStallingOthers() throws Exception {
+        hub = hub(16, 8, LiveEventHub.SlowConsumerPolicy.DROP, 50);
+        RecordingEmitter stuck = new RecordingEmitter();
+        stuck.blockNextSend();
+        hub.subscribe(stuck, null, null, null);
+        hub.publish("post", null, List.of(), 1);
+        stuck.blocked.await(5, TimeUnit.SECONDS);
+
+        Thread.sleep(100);
+        hub.evictBlocked();
+        RecordingEmitter healthy = new RecordingEmitter();
+        hub.subscribe(healthy, null, null, null);
+        hub.publish("post", null, List.of(), 2);
+
+        healthy.await(sent -> sent.size() == 1);
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+        assertThat(hub.senderPoolSize()).isEqualTo(2);
+        assertThat(stuck.failure).isNotNull();
+
+        stuck.release.countDown();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (hub.senderPoolSize() != 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(hub.senderPoolSize()).isEqualTo(1);
+    }
+
+    private static LiveEventHub hub(int bufferSize, int maxLag, LiveEventHub.SlowConsumerPolicy policy, long sendTimeout) {
+        return new LiveEventHub(new ObjectMapper(), bufferSize, maxLag, policy, 1, sendTimeout);
+    }
+
+    /**
+     * Records each event as "id:N name data", or just the data for events without id.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean blockNext;
+        volatile Throwable failure;
+
+        void blockNextSend() {
+            blockNext = true;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            String event = builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(data -> data instanceof String ? (String) data : json(data))
+                    .collect(Collectors.joining())
+                    .replace("\nevent:", " ")
+                    .replace("\ndata:", " ")
+                    .replace("event:", "")
+                    .replace("data:", "")
+                    .strip();
+            if (blockNext) {
+                blockNext = false;
+                blocked.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(event);
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+
+        void await(Predicate<List<String>> condition) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!condition.test(sent) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(condition.test(sent)).as("sent %s", sent).isTrue();
+        }
+
+        private static String json(Object data) {
+            try {
+                return new MappingJackson2HttpMessageConverter().getObjectMapper().writeValueAsString(data);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
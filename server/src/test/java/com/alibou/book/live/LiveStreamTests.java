@@ -0,0 +1,79 @@
+package com.alibou.book.live;
+
+import com.alibou.book.security.JwtService;
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+// shuts the hub down to end the stream
+@DirtiesContext
+class LiveStreamTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private LiveEventHub liveEventHub;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void eventSourcesAuthenticateWithAQueryParameterAndReceiveEvents() throws Exception {
+        User user = userRepository.save(User.builder()
+                .firstname("Live")
+                .lastname("Reader")
+                .email(UUID.randomUUID() + "@test.de")
+                .password("unused")
+                .enabled(true)
+                .roles(new ArrayList<>())
+                .bookmarkedPosts(new HashSet<>())
+                .build());
+
+        MvcResult result = mvc.perform(get("/live/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .param("access_token", jwtService.generateToken(user)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        liveEventHub.publish("post", null, List.of(), Map.of("title", "Hello"));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!result.getResponse().getContentAsString().contains("Hello") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(result.getResponse().getContentAsString()).contains("event:post", "\"title\":\"Hello\"");
+
+        // the stream ends with an ASYNC dispatch, which JwtFilter does not authenticate
+        liveEventHub.shutdown();
+        mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+
+    @Test
+    void streamsRequireAToken() throws Exception {
+        mvc.perform(get("/live/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,70 @@
+package com.alibou.book.post;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ContentProcessorTests {
+
+    private final ContentProcessor processor = processor(1_000);
+
+    @Test
+    void rendersEscapedHtmlAndPlainTextExcerpt() {
+        Post post = post("# Title\n\nSome **bold** text <script>alert(1)</script>");
+
+        processor.prepare(post);
+
+        assertThat(post.getRenderedContent()).contains("<h1>Title</h1>", "<strong>bold</strong>", "&lt;script&gt;");
+        assertThat(post.getExcerpt()).isEqualTo("Title Some bold text <script>alert(1)</script>");
+        assertThat(post.getWordCount()).isEqualTo(8);
+        assertThat(post.getReadTime()).isEqualTo("1 min read");
+    }
+
+    @Test
+    void largePostsGetExcerptAndCountsBeforeTheyAreRendered() {
+        String paragraph = "Some **bold** words in a _short_ sentence here.\n\n";
+        Post post = post("## Heading\n\n" + paragraph.repeat(100));
+
+        processor.prepare(post);
+
+        assertThat(post.getRenderedContent()).isNull();
+        assertThat(post.getExcerpt()).startsWith("Heading Some bold words in a short sentence here. Some")
+                .doesNotContain("**", "_", "#");
+        assertThat(post.getWordCount()).isEqualTo(1 + 8 * 100);
+        assertThat(post.getReadTime()).isEqualTo("5 min read");
+
+        processor.process(post);
+
+        assertThat(post.getRenderedContent()).startsWith("<h2>Heading</h2>");
+        assertThat(post.getWordCount()).isEqualTo(1 + 8 * 100);
+    }
+
+    @Test
+    void excerptsAreCutAtAWordBoundary() {
+        String text = "word ".repeat(100);
+
+        String excerpt = ContentProcessor.excerpt(text);
+
+        assertThat(excerpt).endsWith("word…");
+        assertThat(excerpt.length()).isLessThanOrEqualTo(ContentProcessor.EXCERPT_LENGTH + 1);
+        assertThat(ContentProcessor.excerpt("  short\n\n text ")).isEqualTo("short text");
+    }
+
+    @Test
+    void countsRunsOfLettersAndDigits() {
+        assertThat(ContentProcessor.countWords("")).isZero();
+        assertThat(ContentProcessor.countWords("Spring-Boot 3.3, über alles!")).isEqualTo(6);
+    }
+
+    private static ContentProcessor processor(int asyncThreshold) {
+        var processor = new ContentProcessor(mock(PostRepository.class));
+        ReflectionTestUtils.setField(processor, "asyncThreshold", asyncThreshold);
+        return processor;
+    }
+
+    private static Post post(String content) {
+        return Post.builder().body(PostBody.of(content)).build();
+    }
+}
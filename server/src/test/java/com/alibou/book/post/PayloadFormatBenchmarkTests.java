@@ -0,0 +1,107 @@
+package com.alibou.book.post;
+
+import com.alibou.book.comment.Tag;
+import com.alibou.book.role.Role;
+import com.alibou.book.user.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and encode/decode time of a feed page in JSON, CBOR and Smile. Results are
+ * logged, only sizes are asserted.
+ * Runs with {@code -Pbenchmarks}.
+ */
+@Slf4j
+class PayloadFormatBenchmarkTests {
+
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 1_000;
+
+    @Test
+    // the post tag entity is imported as Tag
+    @org.junit.jupiter.api.Tag("benchmark")
+    void binaryFormatsAgainstJson() throws Exception {
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", Jackson2ObjectMapperBuilder.json().build());
+        formats.put("cbor", Jackson2ObjectMapperBuilder.cbor().build());
+        formats.put("smile", Jackson2ObjectMapperBuilder.smile().build());
+
+        PostResponse feed = feedPage(50);
+        int jsonSize = formats.get("json").writeValueAsBytes(feed).length;
+        for (var format : formats.entrySet()) {
+            ObjectMapper mapper = format.getValue();
+            byte[] bytes = mapper.writeValueAsBytes(feed);
+            for (int i = 0; i < WARMUP; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(feed), PostResponse.class);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                mapper.writeValueAsBytes(feed);
+            }
+            long encodeNs = (System.nanoTime() - start) / ITERATIONS;
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                mapper.readValue(bytes, PostResponse.class);
+            }
+            long decodeNs = (System.nanoTime() - start) / ITERATIONS;
+
+            log.info("{}: {} bytes ({}% of JSON), encode {} us, decode {} us", format.getKey(), bytes.length,
+                    bytes.length * 100 / jsonSize, encodeNs / 1_000, decodeNs / 1_000);
+            assertThat(bytes.length).isLessThanOrEqualTo(jsonSize);
+            assertThat(mapper.readValue(bytes, PostResponse.class).getContent()).hasSize(50);
+        }
+    }
+
+    private static PostResponse feedPage(int size) {
+        List<Object> posts = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            posts.add(PostSummary.from(post(i)));
+        }
+        return PostResponse.builder()
+                .success(true)
+                .message("Posts fetched successfully")
+                .content(posts)
+                .build();
+    }
+
+    private static Post post(int id) {
+        User author = User.builder()
+                .id(id % 7)
+                .firstname("Author")
+                .lastname("Number " + id % 7)
+                .email("author" + id % 7 + "@example.com")
+                .roles(List.of(Role.builder().id(1).name("USER").createdDate(LocalDate.of(2024, 1, 1)).build()))
+                .build();
+        return Post.builder()
+                .id(id)
+                .title("Understanding virtual threads in Spring Boot, part " + id)
+                .subtitle("What changes for blocking JDBC code and what does not")
+                .excerpt("Virtual threads make thread-per-request cheap again. This post measures what that "
+                        + "means for a typical Spring MVC service talking to MySQL through a connection pool.")
+                .author(author)
+                .readTime((3 + id % 9) + " min read")
+                .wordCount(600 + id * 37)
+                .imageUrl("/images/" + id + ".jpg")
+                .featured(id % 10 == 0)
+                .category(id % 2 == 0 ? "Tech" : "Programming")
+                .likes(id * 13)
+                .bookmarks(id * 3)
+                .shares(id)
+                .tags(List.of(
+                        Tag.builder().id(1L).name("java").build(),
+                        Tag.builder().id(2L).name("spring").build(),
+                        Tag.builder().id(3L + id % 5).name("performance").build()))
+                .createdDate(LocalDate.of(2024, 1, 1).plusDays(id))
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.alibou.book.post;
+
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PostBatchTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Post first;
+    private Post second;
+
+    @BeforeEach
+    void createPosts() {
+        User author = userRepository.save(User.builder()
+                .firstname("Batch")
+                .lastname("Reader")
+                .email(UUID.randomUUID() + "@test.de")
+                .password("unused")
+                .enabled(true)
+                .roles(new ArrayList<>())
+                .bookmarkedPosts(new HashSet<>())
+                .build());
+        first = create("First", author);
+        second = create("Second", author);
+    }
+
+    @Test
+    void postsComeBackInRequestOrderWithMarkersForMissingIds() {
+        int missing = second.getId() + 1_000_000;
+
+        var response = postService.getPostsByIds(List.of(second.getId(), missing, first.getId(), second.getId()), false);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Object> content = response.getBody().getContent();
+        assertThat(content).hasSize(4);
+        assertThat(((PostSummary) content.get(0)).title()).isEqualTo("Second");
+        assertThat(content.get(1)).isEqualTo(new PostNotFound(missing, "No post found with id: " + missing));
+        assertThat(((PostSummary) content.get(2)).title()).isEqualTo("First");
+        assertThat(((PostSummary) content.get(3)).id()).isEqualTo(second.getId());
+    }
+
+    @Test
+    void fullPostsIncludeTheBody() {
+        var response = postService.getPostsByIds(List.of(first.getId()), true);
+
+        Post post = (Post) response.getBody().getContent().get(0);
+        assertThat(post.getContent()).isEqualTo("Body of First");
+        assertThat(post.getTags()).extracting("name").containsExactly("java");
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        assertThat(postService.getPostsByIds(List.of(), false).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(postService.getPostsByIds(Collections.nCopies(101, first.getId()), false).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void findAllInOrderSkipsMissingIds() {
+        List<Post> posts = postService.findAllInOrder(List.of(second.getId(), -1, first.getId()));
+
+        assertThat(posts).extracting(Post::getTitle).containsExactly("Second", "First");
+    }
+
+    private Post create(String title, User author) {
+        var request = new PostRequest();
+        request.setTitle(title);
+        request.setContent("Body of " + title);
+        request.setCategory("Tech");
+        request.setTags(List.of("java"));
+        return (Post) postService.createPost(request, author).getBody().getContent().get(0);
+    }
+}
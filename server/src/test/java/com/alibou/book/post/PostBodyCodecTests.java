@@ -0,0 +1,59 @@
+package com.alibou.book.post;
+
+import jakarta.persistence.Column;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostBodyCodecTests {
+
+    @Test
+    void shortTextIsStoredPlain() {
+        byte[] stored = PostBodyCodec.encode("Grüße");
+
+        assertThat(stored[0]).isZero();
+        assertThat(Arrays.copyOfRange(stored, 1, stored.length)).isEqualTo("Grüße".getBytes(StandardCharsets.UTF_8));
+        assertThat(PostBodyCodec.decode(stored)).isEqualTo("Grüße");
+    }
+
+    @Test
+    void longTextIsDeflated() {
+        String text = "All work and no play makes Jack a dull boy. ".repeat(200);
+
+        byte[] stored = PostBodyCodec.encode(text);
+
+        assertThat(stored[0]).isEqualTo((byte) 1);
+        assertThat(stored.length).isLessThan(text.length() / 10);
+        assertThat(PostBodyCodec.decode(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void nullAndEmpty() {
+        assertThat(PostBodyCodec.encode(null)).isNull();
+        assertThat(PostBodyCodec.decode(null)).isNull();
+        assertThat(PostBodyCodec.decode(PostBodyCodec.encode(""))).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownHeadersAndTruncatedData() {
+        byte[] stored = PostBodyCodec.encode("x".repeat(5_000));
+
+        assertThatThrownBy(() -> PostBodyCodec.decode(new byte[]{7, 'a'}))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> PostBodyCodec.decode(Arrays.copyOf(stored, stored.length / 2)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void columnsAreNotGeneratedAsTinyBlobs() throws NoSuchFieldException {
+        // without a length Hibernate declares @Lob byte[] as TINYBLOB on MySQL, 255 bytes
+        for (String field : new String[]{"contentData", "renderedData"}) {
+            Column column = PostBody.class.getDeclaredField(field).getAnnotation(Column.class);
+            assertThat(column.length()).as(field).isEqualTo(Integer.MAX_VALUE);
+        }
+    }
+}
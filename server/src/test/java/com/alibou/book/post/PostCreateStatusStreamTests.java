@@ -0,0 +1,87 @@
+package com.alibou.book.post;
+
+import com.alibou.book.security.JwtService;
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostCreateStatusStreamTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PostWriteQueue postWriteQueue;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void streamsTheStatusOfAQueuedPostAndEnds() throws Exception {
+        User user = userRepository.save(User.builder()
+                .firstname("Queued")
+                .lastname("Writer")
+                .email(UUID.randomUUID() + "@test.de")
+                .password("unused")
+                .enabled(true)
+                .roles(new ArrayList<>())
+                .bookmarkedPosts(new HashSet<>())
+                .build());
+        var request = new PostRequest();
+        request.setTitle("Queued");
+        request.setContent("Written *later*");
+        request.setCategory("Tech");
+        request.setTags(List.of("java"));
+        String handle = ((PostWriteStatus) postWriteQueue.submit(request, user).getBody().getContent().get(0)).handle();
+
+        MvcResult result = mvc.perform(get("/post/subscribe-create-status/" + handle)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .param("access_token", jwtService.generateToken(user)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // the stream completes with an ASYNC dispatch, which JwtFilter does not authenticate
+        mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertThat(result.getResponse().getContentAsString()).contains("event:status", "\"state\":\"CREATED\"");
+    }
+
+    @Test
+    void unknownHandlesAreNotFound() throws Exception {
+        User user = userRepository.save(User.builder()
+                .firstname("No")
+                .lastname("Handle")
+                .email(UUID.randomUUID() + "@test.de")
+                .password("unused")
+                .enabled(true)
+                .roles(new ArrayList<>())
+                .bookmarkedPosts(new HashSet<>())
+                .build());
+
+        mvc.perform(get("/post/subscribe-create-status/unknown")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .param("access_token", jwtService.generateToken(user)))
+                .andExpect(status().isNotFound());
+    }
+}
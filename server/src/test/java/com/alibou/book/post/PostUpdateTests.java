@@ -0,0 +1,114 @@
+package com.alibou.book.post;
+
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PostUpdateTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User author;
+    private Post post;
+
+    @BeforeEach
+    void createPost() {
+        author = userRepository.save(User.builder()
+                .firstname("Edit")
+                .lastname("Or")
+                .email(UUID.randomUUID() + "@test.de")
+                .password("unused")
+                .enabled(true)
+                .roles(new ArrayList<>())
+                .bookmarkedPosts(new HashSet<>())
+                .build());
+        var request = new PostRequest();
+        request.setTitle("Original");
+        request.setContent("Original *content*");
+        request.setCategory("Tech");
+        request.setTags(List.of("java"));
+        post = (Post) postService.createPost(request, author).getBody().getContent().get(0);
+    }
+
+    @Test
+    void editsOnlyTheGivenFieldsAndBumpsTheVersion() {
+        var response = postService.updatePost(post.getId(), patch(0L, "Edited", null), author);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Post edited = postRepository.findWithBodyById(post.getId()).orElseThrow();
+        assertThat(edited.getTitle()).isEqualTo("Edited");
+        assertThat(edited.getContent()).isEqualTo("Original *content*");
+        assertThat(edited.getCategory()).isEqualTo("Tech");
+        assertThat(edited.getVersion()).isEqualTo(1);
+        assertThat(edited.getLastModifiedDate()).isNotNull();
+    }
+
+    @Test
+    void bodyOnlyEditsAreVersionedAndReprocessed() {
+        postService.updatePost(post.getId(), patch(0L, null, "New **body**"), author);
+
+        Post edited = postRepository.findWithBodyById(post.getId()).orElseThrow();
+        assertThat(edited.getVersion()).isEqualTo(1);
+        assertThat(edited.getRenderedContent()).contains("<strong>body</strong>");
+        assertThat(edited.getExcerpt()).isEqualTo("New body");
+    }
+
+    @Test
+    void engagementDoesNotConflictWithEdits() {
+        postService.bookmarkPost(post.getId(), author);
+
+        var response = postService.updatePost(post.getId(), patch(0L, "Edited", null), author);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Post edited = postRepository.findById(post.getId()).orElseThrow();
+        assertThat(edited.getTitle()).isEqualTo("Edited");
+        assertThat(edited.getBookmarks()).isEqualTo(1);
+    }
+
+    @Test
+    void staleVersionIsAConflict() {
+        postService.updatePost(post.getId(), patch(0L, "First", null), author);
+
+        var response = postService.updatePost(post.getId(), patch(0L, "Second", null), author);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(postRepository.findById(post.getId()).orElseThrow().getTitle()).isEqualTo("First");
+    }
+
+    @Test
+    void unchangedEditAndOtherAuthorsLeaveThePostAlone() {
+        var unchanged = postService.updatePost(post.getId(), patch(0L, "Original", null), author);
+        var foreign = postService.updatePost(post.getId(), patch(0L, "Mine now", null), User.builder().id(-1).build());
+
+        assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(foreign.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(postRepository.findById(post.getId()).orElseThrow().getVersion()).isZero();
+    }
+
+    private static PostPatchRequest patch(Long version, String title, String content) {
+        var request = new PostPatchRequest();
+        request.setVersion(version);
+        request.setTitle(title);
+        request.setContent(content);
+        return request;
+    }
+}
@@ -0,0 +1,135 @@
+package com.alibou.book.post;
+
+import com.alibou.book.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostWriteQueueTests {
+
+    private final PostService postService = mock(PostService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final User user = User.builder().id(1).build();
+    private PostWriteQueue queue;
+
+    @AfterEach
+    void stop() {
+        queue.stop();
+    }
+
+    @Test
+    void postsQueuedDuringACommitShareTheNextOne() throws Exception {
+        var release = new CountDownLatch(1);
+        var ids = new AtomicInteger();
+        when(postService.insert(any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return Post.builder().id(ids.incrementAndGet()).build();
+        });
+        queue = start(100);
+
+        var first = handle(queue.submit(request("first"), user).getBody());
+        awaitTaken();
+        // the writer is stuck in the first transaction, these pile up behind it
+        String last = null;
+        for (int i = 0; i < 5; i++) {
+            last = handle(queue.submit(request("post " + i), user).getBody());
+        }
+        release.countDown();
+
+        assertThat(queue.getResult(first, user).get(5, TimeUnit.SECONDS).postId()).isEqualTo(1);
+        assertThat(queue.getResult(last, user).get(5, TimeUnit.SECONDS).state()).isEqualTo(PostWriteStatus.State.CREATED);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void aFailingPostDoesNotTakeItsBatchDown() throws Exception {
+        var release = new CountDownLatch(1);
+        var ids = new AtomicInteger();
+        when(postService.insert(any(), any())).thenAnswer(invocation -> {
+            release.await();
+            PostRequest request = invocation.getArgument(0);
+            if (request.getTitle().equals("broken")) {
+                throw new IllegalArgumentException("bad post");
+            }
+            return Post.builder().id(ids.incrementAndGet()).build();
+        });
+        queue = start(100);
+
+        queue.submit(request("first"), user);
+        awaitTaken();
+        var good = handle(queue.submit(request("good"), user).getBody());
+        var broken = handle(queue.submit(request("broken"), user).getBody());
+        release.countDown();
+
+        assertThat(queue.getResult(good, user).get(5, TimeUnit.SECONDS).state()).isEqualTo(PostWriteStatus.State.CREATED);
+        var failed = queue.getResult(broken, user).get(5, TimeUnit.SECONDS);
+        assertThat(failed.state()).isEqualTo(PostWriteStatus.State.FAILED);
+        assertThat(failed.error()).contains("bad post");
+    }
+
+    @Test
+    void fullQueueIsRejectedWithRetryAfter() throws Exception {
+        var release = new CountDownLatch(1);
+        when(postService.insert(any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return Post.builder().id(1).build();
+        });
+        queue = start(2);
+
+        queue.submit(request("taken by the writer"), user);
+        awaitTaken();
+        queue.submit(request("queued 1"), user);
+        queue.submit(request("queued 2"), user);
+        var rejected = queue.submit(request("one too many"), user);
+        release.countDown();
+
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void handlesAreOnlyVisibleToTheirAuthor() {
+        when(postService.insert(any(), any())).thenReturn(Post.builder().id(1).build());
+        queue = start(10);
+
+        var handle = handle(queue.submit(request("mine"), user).getBody());
+
+        assertThat(queue.getStatus(handle, user)).isNotNull();
+        assertThat(queue.getStatus(handle, User.builder().id(2).build())).isNull();
+    }
+
+    private void awaitTaken() {
+        while (queue.queued() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private PostWriteQueue start(int capacity) {
+        var started = new PostWriteQueue(postService, transactionManager, capacity, 50, 600_000);
+        started.start();
+        return started;
+    }
+
+    private static PostRequest request(String title) {
+        var request = new PostRequest();
+        request.setTitle(title);
+        request.setContent("content");
+        return request;
+    }
+
+    private static String handle(PostResponse response) {
+        return ((PostWriteStatus) response.getContent().get(0)).handle();
+    }
+}
@@ -0,0 +1,57 @@
+package com.alibou.book.post;
+
+import com.alibou.book.comment.Tag;
+import com.alibou.book.user.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializedJsonTests {
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final PostSummary post = PostSummary.from(Post.builder()
+            .id(1)
+            .title("Shared")
+            .excerpt("Serialized once")
+            .author(User.builder().id(2).firstname("Ada").lastname("Writer").roles(List.of()).build())
+            .category("Tech")
+            .likes(3)
+            .tags(List.of(Tag.builder().id(1L).name("java").build()))
+            .createdDate(LocalDate.of(2024, 1, 1))
+            .build());
+
+    @Test
+    void jsonIsSplicedInAsIs() throws Exception {
+        assertThat(json.writeValueAsString(shared())).isEqualTo(json.writeValueAsString(direct()));
+    }
+
+    @Test
+    void sharedJsonIsTranscodedForOtherFormats() throws Exception {
+        // the token buffer behind valueToTree is not a JSON generator either
+        assertThat(json.writeValueAsString(json.valueToTree(shared())))
+                .isEqualTo(json.writeValueAsString(json.valueToTree(direct())));
+
+        for (ObjectMapper binary : List.<ObjectMapper>of(Jackson2ObjectMapperBuilder.cbor().build(),
+                Jackson2ObjectMapperBuilder.smile().build())) {
+            // the bytes may differ in encoding details, the decoded values have to match
+            assertThat(binary.readTree(binary.writeValueAsBytes(shared())))
+                    .isEqualTo(binary.readTree(binary.writeValueAsBytes(direct())));
+        }
+    }
+
+    private PostResponse shared() throws Exception {
+        return PostResponse.builder()
+                .success(true)
+                .content(List.of(new SerializedJson(json.writeValueAsString(post))))
+                .build();
+    }
+
+    private PostResponse direct() {
+        return PostResponse.builder().success(true).content(List.of(post)).build();
+    }
+}
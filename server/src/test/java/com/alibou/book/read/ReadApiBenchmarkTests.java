@@ -0,0 +1,133 @@
+package com.alibou.book.read;
+
+import com.alibou.book.BookNetworkApiApplication;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostRequest;
+import com.alibou.book.post.PostService;
+import com.alibou.book.security.JwtService;
+import com.alibou.book.user.User;
+import com.alibou.book.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Blocking endpoints against their asynchronous counterparts in {@link ReadController} with far
+ * more concurrent requests than Tomcat threads, on the embedded database. Throughput and
+ * latency percentiles are logged, only success is asserted. Runs with {@code -Pbenchmarks}.
+ */
+@Slf4j
+@Tag("benchmark")
+class ReadApiBenchmarkTests {
+
+    private static final int CONCURRENCY = 200;
+    private static final int REQUESTS = 400;
+    private static final int TOMCAT_THREADS = 16;
+
+    @Test
+    void blockingAgainstAsyncReads() throws Exception {
+        try (ConfigurableApplicationContext context = BookNetworkApiApplication.application().run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--application.limit.enabled=false",
+                // own database, the cached test contexts keep using theirs
+                "--spring.datasource.url=jdbc:h2:mem:read_benchmark;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String token = seed(context);
+            HttpClient client = HttpClient.newHttpClient();
+
+            for (String path : List.of("get-post/1", "get-bookmarks", "get-posts?category=Tech")) {
+                // warm up both before measuring either
+                run(client, port, "/post/" + path, token, REQUESTS / 4);
+                run(client, port, "/read/" + path, token, REQUESTS / 4);
+
+                Result blocking = run(client, port, "/post/" + path, token, REQUESTS);
+                Result async = run(client, port, "/read/" + path, token, REQUESTS);
+                log.info("{} with {} concurrent requests: blocking {}, async {}", path, CONCURRENCY, blocking, async);
+
+                assertThat(blocking.failures()).isZero();
+                assertThat(async.failures()).isZero();
+            }
+        }
+    }
+
+    private static String seed(ConfigurableApplicationContext context) {
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .firstname("Bench")
+                .lastname("Reader")
+                .email("bench@test.de")
+                .password("unused")
+                .enabled(true)
+                .roles(new ArrayList<>())
+                .bookmarkedPosts(new HashSet<>())
+                .build());
+        PostService posts = context.getBean(PostService.class);
+        for (int i = 1; i <= 50; i++) {
+            PostRequest request = new PostRequest();
+            request.setTitle("Post " + i);
+            request.setContent("Content of post " + i + ". ".repeat(200));
+            request.setCategory(i % 2 == 0 ? "Tech" : "Life");
+            request.setTags(List.of("java", "tag" + i % 5));
+            posts.createPost(request, user);
+        }
+        user.setBookmarkedPosts(new HashSet<>(context.getBean(PostRepository.class)
+                .findAllById(IntStream.rangeClosed(1, 20).boxed().toList())));
+        context.getBean(UserRepository.class).save(user);
+        return context.getBean(JwtService.class).generateToken(user);
+    }
+
+    private static Result run(HttpClient client, int port, String path, String token, int requests) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        List<CompletableFuture<?>> responses = new ArrayList<>(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (error != null || response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(requests * 1_000_000_000L / elapsed, latencies[requests / 2] / 1_000_000,
+                latencies[requests * 99 / 100] / 1_000_000, failures.get());
+    }
+
+    private record Result(long requestsPerSecond, long p50Ms, long p99Ms, int failures) {
+
+        @Override
+        public String toString() {
+            return requestsPerSecond + " req/s, p50 " + p50Ms + " ms, p99 " + p99Ms + " ms";
+        }
+    }
+}
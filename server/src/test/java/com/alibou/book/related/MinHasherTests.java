@@ -0,0 +1,61 @@
+package com.alibou.book.related;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHasherTests {
+
+    private final MinHasher hasher = new MinHasher();
+
+    @Test
+    void equalFeaturesGiveEqualSignatures() {
+        int[] a = hasher.signature(List.of("Java", "spring"), "Tech", "Spring boot makes java services easy");
+        int[] b = hasher.signature(List.of(" java", "Spring"), "tech", "spring Boot makes Java services easy");
+
+        assertThat(a).isEqualTo(b);
+        assertThat(agreement(a, b)).isEqualTo(MinHasher.SIZE);
+    }
+
+    @Test
+    void agreementFollowsJaccardSimilarity() {
+        List<String> first = IntStream.range(0, 10).mapToObj(i -> "tag" + i).toList();
+        List<String> overlapping = IntStream.range(5, 15).mapToObj(i -> "tag" + i).toList();
+        List<String> disjoint = IntStream.range(100, 110).mapToObj(i -> "tag" + i).toList();
+
+        int[] a = hasher.signature(first, null, null);
+        // Jaccard 1/3, about 10 of 30 slots
+        assertThat(agreement(a, hasher.signature(overlapping, null, null))).isBetween(4, 18);
+        assertThat(agreement(a, hasher.signature(disjoint, null, null))).isLessThan(3);
+    }
+
+    @Test
+    void postsWithoutFeaturesHaveNoSignature() {
+        assertThat(hasher.signature(List.of(), " ", "two words")).isNull();
+        assertThat(hasher.signature(null, null, null)).isNull();
+    }
+
+    @Test
+    void bandKeysOnlyDependOnTheirRows() {
+        int[] a = hasher.signature(List.of("java"), "Tech", null);
+        int[] b = a.clone();
+        b[MinHasher.SIZE - 1]++;
+        int[] both = new int[2 * MinHasher.SIZE];
+        System.arraycopy(a, 0, both, 0, MinHasher.SIZE);
+        System.arraycopy(b, 0, both, MinHasher.SIZE, MinHasher.SIZE);
+
+        assertThat(MinHasher.bandKey(both, 0, 0)).isEqualTo(MinHasher.bandKey(both, MinHasher.SIZE, 0));
+        assertThat(MinHasher.bandKey(both, 0, MinHasher.BANDS - 1))
+                .isNotEqualTo(MinHasher.bandKey(both, MinHasher.SIZE, MinHasher.BANDS - 1));
+    }
+
+    private static int agreement(int[] a, int[] b) {
+        int[] both = new int[2 * MinHasher.SIZE];
+        System.arraycopy(a, 0, both, 0, MinHasher.SIZE);
+        System.arraycopy(b, 0, both, MinHasher.SIZE, MinHasher.SIZE);
+        return MinHasher.agreement(both, 0, MinHasher.SIZE);
+    }
+}
@@ -0,0 +1,110 @@
+package com.alibou.book.related;
+
+import com.alibou.book.comment.Tag;
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostBody;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RelatedPostsServiceTests {
+
+    private static final String JAVA = "Spring boot makes java services easy to build and run";
+    private static final String PASTA = "Boil the pasta and cook the sauce slowly until it thickens";
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final RelatedPostsService service = new RelatedPostsService(postRepository, mock(PostService.class));
+
+    @Test
+    void similarPostsAreRelated() {
+        created(post(1, "Tech", JAVA, "java", "spring"));
+        created(post(2, "Tech", JAVA, "java", "spring"));
+        created(post(3, "Food", PASTA, "cooking", "pasta"));
+
+        assertThat(service.getRelatedIds(1, 10)).containsExactly(2);
+        assertThat(service.getRelatedIds(2, 10)).containsExactly(1);
+        assertThat(service.getRelatedIds(3, 10)).isEmpty();
+    }
+
+    @Test
+    void editedPostsMoveToTheirNewNeighbours() {
+        created(post(1, "Tech", JAVA, "java", "spring"));
+        created(post(2, "Tech", JAVA, "java", "spring"));
+        created(post(3, "Food", PASTA, "cooking", "pasta"));
+
+        updated(post(1, "Food", PASTA, "cooking", "pasta"));
+
+        assertThat(service.getRelatedIds(1, 10)).containsExactly(3);
+        assertThat(service.getRelatedIds(3, 10)).containsExactly(1);
+        assertThat(service.getRelatedIds(2, 10)).isEmpty();
+    }
+
+    @Test
+    void deletedPostsAreNotRelatedAnymore() {
+        created(post(1, "Tech", JAVA, "java", "spring"));
+        created(post(2, "Tech", JAVA, "java", "spring"));
+
+        service.onPostEvent(new PostEvent(PostEvent.Type.DELETED, post(2, "Tech", JAVA), 1));
+
+        assertThat(service.getRelatedIds(1, 10)).isEmpty();
+        assertThat(service.getRelatedIds(2, 10)).isEmpty();
+    }
+
+    @Test
+    void changesDuringARebuildAreReplayedOntoIt() {
+        when(postRepository.findMaxId()).thenReturn(3);
+        when(postRepository.findWithBodyInIdRange(anyInt(), anyInt())).thenAnswer(invocation -> {
+            if ((int) invocation.getArgument(0) > 0) {
+                return List.of();
+            }
+            // edited and created after the rebuild read its ids, the rows below are already stale
+            updated(post(1, "Food", PASTA, "cooking", "pasta"));
+            created(post(4, "Tech", JAVA, "java", "spring"));
+            return List.of(
+                    post(1, "Tech", JAVA, "java", "spring"),
+                    post(2, "Tech", JAVA, "java", "spring"),
+                    post(3, "Food", PASTA, "cooking", "pasta"));
+        });
+
+        service.rebuild();
+
+        assertThat(service.getRelatedIds(1, 10)).containsExactly(3);
+        assertThat(service.getRelatedIds(2, 10)).containsExactly(4);
+        assertThat(service.getRelatedIds(4, 10)).containsExactly(2);
+    }
+
+    @Test
+    void nonPositiveLimitsReturnNothing() {
+        created(post(1, "Tech", JAVA, "java", "spring"));
+        created(post(2, "Tech", JAVA, "java", "spring"));
+
+        assertThat(service.getRelatedIds(1, -1)).isEmpty();
+        assertThat(service.getRelatedIds(1, 0)).isEmpty();
+    }
+
+    private void created(Post post) {
+        service.onPostEvent(new PostEvent(PostEvent.Type.CREATED, post, 1));
+    }
+
+    private void updated(Post post) {
+        service.onPostEvent(new PostEvent(PostEvent.Type.UPDATED, post, 1));
+    }
+
+    private static Post post(int id, String category, String content, String... tags) {
+        return Post.builder()
+                .id(id)
+                .category(category)
+                .body(PostBody.of(content))
+                .tags(Arrays.stream(tags).map(name -> Tag.builder().name(name).build()).toList())
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.alibou.book.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+    @Test
+    void neverMissesAnAddedValue() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        String[] values = new String[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.add(values[i]);
+        }
+
+        for (String value : values) {
+            assertThat(filter.mightContain(value)).as(value).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositivesStayNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("valid-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isBetween(1, 2_000);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.001);
+
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.mightContain("anything")).isFalse();
+    }
+}
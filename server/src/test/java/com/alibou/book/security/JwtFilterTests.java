@@ -0,0 +1,71 @@
+package com.alibou.book.security;
+
+import com.alibou.book.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtFilterTests {
+
+    private final JwtService jwtService = mock(JwtService.class);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final JwtFilter filter = new JwtFilter(jwtService, userDetailsService, mock(TokenDenylist.class));
+
+    @BeforeEach
+    void validToken() {
+        User user = User.builder().email("jane@example.com").roles(new ArrayList<>()).build();
+        when(jwtService.extractUsername("jwt")).thenReturn("jane@example.com");
+        when(userDetailsService.loadUserByUsername("jane@example.com")).thenReturn(user);
+        when(jwtService.isTokenValid("jwt", user)).thenReturn(true);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void acceptsTheAuthorizationHeader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/post/get-all-posts");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer jwt");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    @Test
+    void acceptsAQueryParameterForEventStreams() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/live/stream");
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+        request.setParameter("access_token", "jwt");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    @Test
+    void ignoresTheQueryParameterForOtherRequests() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/post/get-all-posts");
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        request.setParameter("access_token", "jwt");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+}
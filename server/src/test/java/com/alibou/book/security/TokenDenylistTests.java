@@ -0,0 +1,76 @@
+package com.alibou.book.security;
+
+import com.alibou.book.user.Token;
+import com.alibou.book.user.TokenRepository;
+import com.alibou.book.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenDenylistTests {
+
+    private final TokenRepository tokenRepository = mock(TokenRepository.class);
+    private final TokenDenylist denylist = new TokenDenylist(tokenRepository);
+
+    @Test
+    void unknownTokensAreAnsweredWithoutTheDatabase() {
+        assertThat(denylist.isRevoked("a")).isFalse();
+        assertThat(denylist.isRevoked(null)).isFalse();
+
+        verify(tokenRepository, never()).findByToken(anyString());
+    }
+
+    @Test
+    void revokedTokensAreRejectedAndStoredOnce() {
+        denylist.revoke("a", LocalDateTime.now().plusHours(1), new User());
+        denylist.revoke("a", LocalDateTime.now().plusHours(1), new User());
+
+        assertThat(denylist.isRevoked("a")).isTrue();
+        verify(tokenRepository, times(1)).save(any(Token.class));
+    }
+
+    @Test
+    void revocationsOfOtherNodesApplyAfterTheReload() {
+        LocalDateTime now = LocalDateTime.now();
+        when(tokenRepository.findAllUnexpired(any())).thenReturn(List.of(revoked("remote", now.plusHours(1))));
+
+        assertThat(denylist.isRevoked("remote")).isFalse();
+        denylist.reload();
+
+        assertThat(denylist.isRevoked("remote")).isTrue();
+    }
+
+    @Test
+    void expiredTokensAreForgottenOnReload() {
+        denylist.revoke("old", LocalDateTime.now().minusSeconds(1), new User());
+        when(tokenRepository.findAllUnexpired(any())).thenReturn(List.of());
+
+        denylist.reload();
+
+        assertThat(denylist.isRevoked("old")).isFalse();
+    }
+
+    private static TokenRepository.RevokedToken revoked(String id, LocalDateTime expiresAt) {
+        return new TokenRepository.RevokedToken() {
+            @Override
+            public String getToken() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getExpiredAt() {
+                return expiresAt;
+            }
+        };
+    }
+}
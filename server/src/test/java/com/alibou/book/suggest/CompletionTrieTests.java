@@ -0,0 +1,92 @@
+package com.alibou.book.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionTrieTests {
+
+    @Test
+    void returnsHeaviestCompletionsFirst() {
+        var trie = new CompletionTrie.Builder()
+                .add("java", 50, "java")
+                .add("javascript", 80, "javascript")
+                .add("jakarta", 10, "jakarta")
+                .add("jvm", 30, "jvm")
+                .add("kotlin", 40, "kotlin")
+                .build();
+
+        assertThat(trie.complete("ja", 10)).containsExactly("javascript", "java", "jakarta");
+        assertThat(trie.complete("java", 10)).containsExactly("javascript", "java");
+        assertThat(trie.complete("j", 2)).containsExactly("javascript", "java");
+        assertThat(trie.complete("", 1)).containsExactly("javascript");
+        assertThat(trie.complete("javaz", 10)).isEmpty();
+        assertThat(trie.complete("python", 10)).isEmpty();
+    }
+
+    @Test
+    void prefixEndingInsideACompressedLabelMatches() {
+        var trie = new CompletionTrie.Builder()
+                .add("spring boot", 5, "spring boot")
+                .add("spring security", 3, "spring security")
+                .build();
+
+        assertThat(trie.complete("spr", 10)).containsExactly("spring boot", "spring security");
+        assertThat(trie.complete("spring s", 10)).containsExactly("spring security");
+        assertThat(trie.complete("springs", 10)).isEmpty();
+    }
+
+    @Test
+    void duplicateKeysKeepTheHigherWeight() {
+        var trie = new CompletionTrie.Builder()
+                .add("java", 1, "low")
+                .add("java", 9, "high")
+                .add("java", 5, "middle")
+                .build();
+
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(trie.complete("j", 10)).containsExactly("high");
+    }
+
+    @Test
+    void agreesWithAScanOfAllKeys() {
+        Random random = new Random(42);
+        Map<String, Long> weights = new HashMap<>();
+        var builder = new CompletionTrie.Builder();
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder key = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int c = 0; c < length; c++) {
+                key.append((char) ('a' + random.nextInt(4)));
+            }
+            long weight = random.nextInt(1_000_000);
+            if (weights.getOrDefault(key.toString(), -1L) < weight) {
+                weights.put(key.toString(), weight);
+            }
+            builder.add(key.toString(), weight, key.toString());
+        }
+        var trie = builder.build();
+
+        for (String prefix : List.of("", "a", "ab", "abc", "dddd", "cab", "bbbbbbbb")) {
+            List<String> expected = weights.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                            .thenComparing(entry -> entry.getKey().length()))
+                    .limit(CompletionTrie.MAX_K)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            List<Long> expectedWeights = expected.stream().map(weights::get).sorted(Comparator.reverseOrder()).toList();
+
+            List<Long> actualWeights = trie.complete(prefix, CompletionTrie.MAX_K).stream()
+                    .map(value -> weights.get((String) value))
+                    .toList();
+            assertThat(actualWeights).as("prefix '%s'", prefix).isEqualTo(expectedWeights);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.alibou.book.syndication;
+
+import com.alibou.book.cache.SingleFlightRegistry;
+import com.alibou.book.comment.Tag;
+import com.alibou.book.post.Post;
+import com.alibou.book.post.PostEvent;
+import com.alibou.book.post.PostRepository;
+import com.alibou.book.post.PostService;
+import com.alibou.book.post.PostSitemapEntry;
+import com.alibou.book.user.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SyndicationServiceTests {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostService postService = mock(PostService.class);
+    private final Post tech = post(2, "Tech", "java");
+    private final Post life = post(1, "Life", "travel");
+    private final SyndicationService service = new SyndicationService(postRepository, postService,
+            mock(PlatformTransactionManager.class), new SingleFlightRegistry(1_000),
+            "https://blog.example.com/", "/api/v1", "Blog", 50, 2);
+
+    @Test
+    void feedsAreGeneratedOnceAndKeptAsBytes() {
+        when(postRepository.findRecentIds(any())).thenReturn(List.of(2, 1));
+        when(postService.findAllInOrder(List.of(2, 1))).thenReturn(List.of(tech, life));
+
+        var first = service.getFeed(SyndicationService.Format.RSS, null, null);
+        var second = service.getFeed(SyndicationService.Format.RSS, null, null);
+
+        assertThat(second).isSameAs(first);
+        verify(postRepository, times(1)).findRecentIds(any());
+        String rss = new String(first.bytes(), StandardCharsets.UTF_8);
+        assertThat(rss).contains("<title>Post 2</title>", "<link>https://blog.example.com/post/2</link>",
+                "<category>java</category>", "<pubDate>Tue, 2 Jan 2024 00:00:00 GMT</pubDate>");
+        assertThat(first.etag()).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void aChangeDropsOnlyTheDocumentsItAffects() {
+        when(postRepository.findRecentIds(any())).thenReturn(List.of(2, 1));
+        when(postRepository.findRecentIdsByCategory(eq("tech"), any())).thenReturn(List.of(2));
+        when(postService.findAllInOrder(anyList())).thenReturn(List.of(tech));
+        var all = service.getFeed(SyndicationService.Format.ATOM, null, null);
+        var techFeed = service.getFeed(SyndicationService.Format.ATOM, "tech", null);
+
+        service.onPostEvent(new PostEvent(PostEvent.Type.UPDATED, life, 1));
+
+        assertThat(service.getFeed(SyndicationService.Format.ATOM, "tech", null)).isSameAs(techFeed);
+        assertThat(service.getFeed(SyndicationService.Format.ATOM, null, null)).isNotSameAs(all);
+
+        service.onPostEvent(new PostEvent(PostEvent.Type.CREATED, post(3, "TECH", "java"), 1));
+
+        assertThat(service.getFeed(SyndicationService.Format.ATOM, "tech", null)).isNotSameAs(techFeed);
+    }
+
+    @Test
+    void selfLinkComesFromTheConfiguredSiteUrl() {
+        when(postRepository.findRecentIdsByCategory(eq("Big Data"), any())).thenReturn(List.of(2));
+        when(postService.findAllInOrder(List.of(2))).thenReturn(List.of(tech));
+
+        String atom = new String(service.getFeed(SyndicationService.Format.ATOM, "Big Data", null).bytes(),
+                StandardCharsets.UTF_8);
+
+        assertThat(atom).contains("href=\"https://blog.example.com/api/v1/syndication/atom?category=big%20data\"");
+    }
+
+    @Test
+    void emptyCategoryFeedsAreNotKept() {
+        when(postService.findAllInOrder(anyList())).thenReturn(List.of());
+
+        service.getFeed(SyndicationService.Format.RSS, "nothing-here", null);
+        service.getFeed(SyndicationService.Format.RSS, "or-here", null);
+
+        assertThat(service.cachedDocuments()).isZero();
+    }
+
+    @Test
+    void sitemapIsSplitIntoChunksOfIds() {
+        when(postRepository.findMaxId()).thenReturn(5);
+        PostSitemapEntry entry = mock(PostSitemapEntry.class);
+        when(entry.getId()).thenReturn(3);
+        when(entry.getCreatedDate()).thenReturn(LocalDate.of(2024, 1, 3));
+        when(postRepository.findSitemapEntries(2, 4)).thenReturn(List.of(entry));
+
+        String index = new String(service.getSitemapIndex().bytes(), StandardCharsets.UTF_8);
+        String chunk = new String(service.getSitemap(1).bytes(), StandardCharsets.UTF_8);
+
+        assertThat(index).contains("<loc>https://blog.example.com/api/v1/syndication/sitemap-0.xml</loc>",
+                "sitemap-1.xml", "sitemap-2.xml").doesNotContain("sitemap-3.xml");
+        assertThat(chunk).contains("<loc>https://blog.example.com/post/3</loc>", "<lastmod>2024-01-03</lastmod>");
+        assertThat(service.getSitemap(3)).isNull();
+    }
+
+    private static Post post(int id, String category, String tag) {
+        return Post.builder()
+                .id(id)
+                .title("Post " + id)
+                .excerpt("Excerpt " + id)
+                .category(category)
+                .author(User.builder().firstname("Ada").lastname("Lovelace").build())
+                .tags(List.of(Tag.builder().name(tag).build()))
+                .createdDate(LocalDate.of(2024, 1, id))
+                .build();
+    }
+}
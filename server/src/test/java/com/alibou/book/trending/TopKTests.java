@@ -0,0 +1,93 @@
+package com.alibou.book.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKTests {
+
+    @Test
+    void keepsTheBestScoresInDescendingOrder() {
+        var topK = new TopK(3);
+        topK.offer(1, 10);
+        topK.offer(2, 30);
+        topK.offer(3, 20);
+        topK.offer(4, 5);
+        topK.offer(5, 25);
+
+        assertThat(topK.top(10)).containsExactly(2, 5, 3);
+        assertThat(topK.top(2)).containsExactly(2, 5);
+    }
+
+    @Test
+    void updatedScoresMoveTheirPostBothWays() {
+        var topK = new TopK(3);
+        topK.offer(1, 10);
+        topK.offer(2, 20);
+        topK.offer(3, 30);
+
+        topK.offer(1, 40);
+        topK.offer(3, 5);
+
+        assertThat(topK.top(3)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void removedPostsMakeRoomAgain() {
+        var topK = new TopK(2);
+        topK.offer(1, 10);
+        topK.offer(2, 20);
+        topK.remove(2);
+        topK.remove(42);
+        topK.offer(3, 5);
+
+        assertThat(topK.top(5)).containsExactly(1, 3);
+    }
+
+    @Test
+    void negativeLimitsReturnNothing() {
+        var topK = new TopK(2);
+        topK.offer(1, 10);
+
+        assertThat(topK.top(-1)).isEmpty();
+        assertThat(topK.top(0)).isEmpty();
+    }
+
+    @Test
+    void agreesWithSortingAllScoresWhileEngagementGrows() {
+        // scores only grow between reconciles, an evicted post can't be better than its evictor
+        Random random = new Random(3);
+        var topK = new TopK(20);
+        Map<Integer, Double> scores = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            int id = random.nextInt(200);
+            double score = scores.getOrDefault(id, 0.0) + random.nextDouble();
+            topK.offer(id, score);
+            scores.put(id, score);
+        }
+
+        List<Integer> expected = scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .limit(20)
+                .map(Map.Entry::getKey)
+                .toList();
+        assertThat(topK.top(20)).isEqualTo(expected);
+    }
+
+    @Test
+    void newerPostsNeedLessEngagementToRankEqually() {
+        LocalDate today = LocalDate.of(2024, 6, 1);
+
+        double oldPopular = TrendingService.hotScore(100, 0, 0, today.minusDays(1));
+        double newQuiet = TrendingService.hotScore(10, 0, 0, today);
+
+        assertThat(newQuiet).isGreaterThan(oldPopular);
+        assertThat(TrendingService.hotScore(0, 0, 0, today)).isEqualTo(TrendingService.hotScore(1, 0, 0, today));
+    }
+}
@@ -0,0 +1,67 @@
+package com.alibou.book.view;
+
+import jakarta.persistence.Column;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTests {
+
+    @Test
+    void estimatesWithinAFewPercent() {
+        for (int readers : new int[]{10, 1_000, 100_000}) {
+            var sketch = sketchOf(0, readers);
+
+            assertThat((double) sketch.estimate()).isCloseTo(readers, within(readers * 0.04 + 1));
+        }
+    }
+
+    @Test
+    void repeatedReadersAreCountedOnce() {
+        var sketch = sketchOf(0, 5_000);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.offer(i);
+        }
+
+        assertThat((double) sketch.estimate()).isCloseTo(5_000, within(200.0));
+    }
+
+    @Test
+    void dailySketchesMergeIntoTheUnion() {
+        // three days with overlapping readers, 0 until 30,000 distinct in total
+        var week = new HyperLogLog();
+        week.merge(sketchOf(0, 20_000));
+        week.merge(sketchOf(10_000, 25_000));
+        week.merge(sketchOf(20_000, 30_000));
+
+        assertThat((double) week.estimate()).isCloseTo(30_000, within(1_200.0));
+    }
+
+    @Test
+    void serializedSketchIsCompactAndRoundTrips() {
+        var rare = sketchOf(0, 20);
+        var popular = sketchOf(0, 50_000);
+
+        assertThat(rare.toBytes().length).isLessThan(200);
+        assertThat(popular.toBytes().length).isLessThan(8 * 1024);
+        assertThat(HyperLogLog.fromBytes(popular.toBytes()).estimate()).isEqualTo(popular.estimate());
+        assertThat(HyperLogLog.fromBytes(null).estimate()).isZero();
+    }
+
+    @Test
+    void fullSketchesFitTheirColumn() throws NoSuchFieldException {
+        // without a length Hibernate declares @Lob byte[] as TINYBLOB on MySQL, 255 bytes
+        int length = PostViewSketch.class.getDeclaredField("sketch").getAnnotation(Column.class).length();
+
+        assertThat(sketchOf(0, 1_000_000).toBytes().length).isLessThanOrEqualTo(length);
+    }
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        var sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.offer(i);
+        }
+        return sketch;
+    }
+}
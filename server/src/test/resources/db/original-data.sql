@@ -0,0 +1,22 @@
+-- Rows as an installation running the original schema has them, migrated by the later versions.
+
+INSERT INTO user (id, firstname, lastname, email, password, account_locked, enabled, created_date)
+VALUES (1, 'Ada', 'Writer', 'ada@test.de', 'secret', FALSE, TRUE, DATE '2024-01-01');
+
+INSERT INTO post (id, title, content, author_id, featured, category, likes, bookmarks, shares, created_date)
+VALUES (1, 'First', CONCAT('# Hello', CHAR(10), 'Plain *markdown*.'), 1, FALSE, 'Tech', 3, 1, 0, DATE '2024-01-02'),
+       (2, 'Second', U&'Gr\00fc\00dfe, \65e5\672c, \d83d\de80', 1, TRUE, 'Life', 0, 0, 2, DATE '2024-01-03'),
+       (3, 'Long', REPEAT('A long body above the compression threshold. ', 100), 1, FALSE, NULL, 0, 0, 0, DATE '2024-01-04');
+
+-- every post created its own tags
+INSERT INTO tag (id, name)
+VALUES (1, 'Spring'),
+       (2, 'spring'),
+       (3, 'SPRING'),
+       (4, 'Travel');
+
+INSERT INTO post_tags (post_id, tag_id)
+VALUES (1, 1),
+       (1, 2),
+       (2, 3),
+       (2, 4);